@@ -0,0 +1,60 @@
+package dev.latvian.mods.klib.bench;
+
+import dev.latvian.mods.klib.vertex.VertexBatch;
+import dev.latvian.mods.klib.vertex.VertexCallback;
+import org.openjdk.jmh.infra.Blackhole;
+
+public record BlackholeVertexCallback(Blackhole blackhole) implements VertexCallback {
+	@Override
+	public VertexCallback acceptPos(float x, float y, float z) {
+		blackhole.consume(x);
+		blackhole.consume(y);
+		blackhole.consume(z);
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptTex(float u, float v) {
+		blackhole.consume(u);
+		blackhole.consume(v);
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptCol(float r, float g, float b, float a) {
+		blackhole.consume(r);
+		blackhole.consume(g);
+		blackhole.consume(b);
+		blackhole.consume(a);
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptNormal(float nx, float ny, float nz) {
+		blackhole.consume(nx);
+		blackhole.consume(ny);
+		blackhole.consume(nz);
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptLight(int u, int v) {
+		blackhole.consume(u);
+		blackhole.consume(v);
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptOverlay(int u, int v) {
+		blackhole.consume(u);
+		blackhole.consume(v);
+		return this;
+	}
+
+	@Override
+	public void acceptBatch(VertexBatch batch, int from, int to) {
+		blackhole.consume(batch);
+		blackhole.consume(from);
+		blackhole.consume(to);
+	}
+}
@@ -0,0 +1,85 @@
+package dev.latvian.mods.klib.bench;
+
+import dev.latvian.mods.klib.color.Color;
+import dev.latvian.mods.klib.color.CompoundGradient;
+import dev.latvian.mods.klib.color.Gradient;
+import dev.latvian.mods.klib.color.LinearPairGradient;
+import dev.latvian.mods.klib.color.PositionedColor;
+import dev.latvian.mods.klib.easing.Easing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GradientBenchmark {
+	public static final int SAMPLES = 1024;
+
+	@Param({"LINEAR", "SINE_IN_OUT", "CUBIC_OUT", "EXPO_IN_OUT", "ELASTIC_OUT", "BOUNCE_IN_OUT"})
+	public Easing easing;
+
+	private Gradient pair;
+	private Gradient compound;
+	private float[] deltas;
+
+	@Setup
+	public void setup() {
+		pair = new LinearPairGradient(Color.RED, Color.BLUE);
+		compound = new CompoundGradient(List.of(
+			new PositionedColor(0F, Color.BLACK, easing),
+			new PositionedColor(0.25F, Color.RED, easing),
+			new PositionedColor(0.5F, Color.YELLOW, easing),
+			new PositionedColor(0.75F, Color.GREEN, easing),
+			new PositionedColor(1F, Color.WHITE)
+		));
+
+		deltas = new float[SAMPLES];
+
+		for (int i = 0; i < SAMPLES; i++) {
+			deltas[i] = i / (SAMPLES - 1F);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public void easingDouble(Blackhole blackhole) {
+		for (float d : deltas) {
+			blackhole.consume(easing.ease((double) d));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public void easingFloat(Blackhole blackhole) {
+		for (float d : deltas) {
+			blackhole.consume(easing.ease(d));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public void linearPairGradient(Blackhole blackhole) {
+		for (float d : deltas) {
+			blackhole.consume(pair.get(d));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SAMPLES)
+	public void compoundGradient(Blackhole blackhole) {
+		for (float d : deltas) {
+			blackhole.consume(compound.get(d));
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package dev.latvian.mods.klib.bench;
+
+import dev.latvian.mods.klib.shape.CircleShape;
+import dev.latvian.mods.klib.shape.CuboidBuilder;
+import dev.latvian.mods.klib.shape.CylinderShape;
+import dev.latvian.mods.klib.shape.SpherePoints;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShapeBenchmark {
+	@Param({"L", "M", "H", "X"})
+	public String sphereDetail;
+
+	private SpherePoints spherePoints;
+	private CylinderShape cylinder;
+	private CircleShape circle;
+	private Matrix4f pose;
+	private Matrix3f normal;
+
+	@Setup
+	public void setup() {
+		spherePoints = switch (sphereDetail) {
+			case "L" -> SpherePoints.L;
+			case "H" -> SpherePoints.H;
+			case "X" -> SpherePoints.X;
+			default -> SpherePoints.M;
+		};
+
+		cylinder = new CylinderShape(2F, 4F);
+		circle = new CircleShape(2F);
+		pose = new Matrix4f().translate(10F, 64F, -20F).rotateYXZ(0.5F, 0.25F, 0.125F);
+		normal = pose.normal(new Matrix3f());
+	}
+
+	@Benchmark
+	public void cuboidQuads(Blackhole blackhole) {
+		CuboidBuilder.quads(-1F, -1F, -1F, 1F, 1F, 1F, new BlackholeVertexCallback(blackhole));
+	}
+
+	@Benchmark
+	public void cuboidLines(Blackhole blackhole) {
+		CuboidBuilder.lines(-1F, -1F, -1F, 1F, 1F, 1F, new BlackholeVertexCallback(blackhole));
+	}
+
+	@Benchmark
+	public void cuboidFrameQuads(Blackhole blackhole) {
+		CuboidBuilder.frameQuads(-1F, -1F, -1F, 1F, 1F, 1F, 0.1F, 0.05F, new BlackholeVertexCallback(blackhole));
+	}
+
+	@Benchmark
+	public void sphereQuads(Blackhole blackhole) {
+		spherePoints.buildQuads(0F, 0F, 0F, 2F, new BlackholeVertexCallback(blackhole));
+	}
+
+	@Benchmark
+	public void sphereQuadsPerVertex(Blackhole blackhole) {
+		// onlyPosColTexNormal doesn't override acceptBatch, so this unrolls the batch into single vertices
+		spherePoints.buildQuads(0F, 0F, 0F, 2F, new BlackholeVertexCallback(blackhole).onlyPosColTexNormal());
+	}
+
+	@Benchmark
+	public void sphereQuadsFused(Blackhole blackhole) {
+		spherePoints.buildQuads(0F, 0F, 0F, 2F, new BlackholeVertexCallback(blackhole).withTransformedPositionsAndNormals(pose, normal, true).fused());
+	}
+
+	@Benchmark
+	public void sphereLines(Blackhole blackhole) {
+		spherePoints.buildLines(0F, 0F, 0F, 2F, new BlackholeVertexCallback(blackhole));
+	}
+
+	@Benchmark
+	public void cylinderQuads(Blackhole blackhole) {
+		cylinder.buildQuads(0F, 0F, 0F, new BlackholeVertexCallback(blackhole));
+	}
+
+	@Benchmark
+	public void circleLines(Blackhole blackhole) {
+		circle.buildLines(0F, 0F, 0F, new BlackholeVertexCallback(blackhole));
+	}
+}
@@ -0,0 +1,178 @@
+package dev.latvian.mods.klib.bench;
+
+import dev.latvian.mods.klib.codec.BatchStreamCodecs;
+import dev.latvian.mods.klib.codec.CollectionStreamCodecs;
+import dev.latvian.mods.klib.codec.CompositeStreamCodec;
+import dev.latvian.mods.klib.codec.JOMLStreamCodecs;
+import dev.latvian.mods.klib.color.Color;
+import dev.latvian.mods.klib.math.AAIBB;
+import dev.latvian.mods.klib.math.Vec3f;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamCodecBenchmark {
+	public record Sample(int id, float scale, Vec3f pos, Color color) {
+		public static final StreamCodec<ByteBuf, Sample> STREAM_CODEC = CompositeStreamCodec.of(
+			ByteBufCodecs.VAR_INT, Sample::id,
+			ByteBufCodecs.FLOAT, Sample::scale,
+			Vec3f.STREAM_CODEC, Sample::pos,
+			Color.STREAM_CODEC, Sample::color,
+			Sample::new
+		);
+	}
+
+	private ByteBuf buf;
+	private Sample sample;
+	private AAIBB box;
+	private Vector3f vec;
+	private Quaternionf quat;
+	private IntList ints;
+	private LongList positions;
+
+	private ByteBuf encodedSample;
+	private ByteBuf encodedInts;
+	private ByteBuf encodedPositions;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		buf = Unpooled.buffer(1 << 16);
+		sample = new Sample(12345, 1.5F, new Vec3f(10.5F, 64F, -200.25F), Color.of(0xFF336699));
+		box = new AAIBB(-1000, -64, -1000, 1000, 320, 1000);
+		vec = new Vector3f(1.25F, -4.5F, 8.75F);
+		quat = new Quaternionf().rotateYXZ(0.5F, 0.25F, 0.125F);
+		ints = new IntArrayList();
+		positions = new LongArrayList();
+
+		for (int i = 0; i < 1024; i++) {
+			ints.add(i * 3);
+			positions.add(BlockPos.asLong(100 + (i & 15), 64 + (i >> 8), 200 + ((i >> 4) & 15)));
+		}
+
+		encodedSample = Unpooled.buffer();
+		Sample.STREAM_CODEC.encode(encodedSample, sample);
+
+		encodedInts = Unpooled.buffer();
+		CollectionStreamCodecs.VAR_INT_LIST.encode(encodedInts, ints);
+
+		encodedPositions = Unpooled.buffer();
+		CollectionStreamCodecs.LONG_LIST.encode(encodedPositions, positions);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		buf.release();
+		encodedSample.release();
+		encodedInts.release();
+		encodedPositions.release();
+	}
+
+	@Benchmark
+	public ByteBuf encodeComposite() {
+		buf.clear();
+		Sample.STREAM_CODEC.encode(buf, sample);
+		return buf;
+	}
+
+	@Benchmark
+	public Sample decodeComposite() {
+		encodedSample.readerIndex(0);
+		return Sample.STREAM_CODEC.decode(encodedSample);
+	}
+
+	@Benchmark
+	public ByteBuf encodeAAIBB() {
+		buf.clear();
+		AAIBB.STREAM_CODEC.encode(buf, box);
+		return buf;
+	}
+
+	@Benchmark
+	public ByteBuf encodeVec3() {
+		buf.clear();
+		JOMLStreamCodecs.VEC3.encode(buf, vec);
+		return buf;
+	}
+
+	@Benchmark
+	public ByteBuf encodeQuaternion() {
+		buf.clear();
+		JOMLStreamCodecs.QUATERNION.encode(buf, quat);
+		return buf;
+	}
+
+	@Benchmark
+	public ByteBuf encodeVarIntList() {
+		buf.clear();
+		CollectionStreamCodecs.VAR_INT_LIST.encode(buf, ints);
+		return buf;
+	}
+
+	@Benchmark
+	public IntList decodeVarIntList() {
+		encodedInts.readerIndex(0);
+		return CollectionStreamCodecs.VAR_INT_LIST.decode(encodedInts);
+	}
+
+	@Benchmark
+	public ByteBuf encodeLongList() {
+		buf.clear();
+		CollectionStreamCodecs.LONG_LIST.encode(buf, positions);
+		return buf;
+	}
+
+	@Benchmark
+	public LongList decodeLongList() {
+		encodedPositions.readerIndex(0);
+		return CollectionStreamCodecs.LONG_LIST.decode(encodedPositions);
+	}
+
+	@Benchmark
+	public ByteBuf encodeDeltaLongList() {
+		buf.clear();
+		CollectionStreamCodecs.DELTA_VAR_LONG_LIST.encode(buf, positions);
+		return buf;
+	}
+
+	@Benchmark
+	public ByteBuf encodePackedBlockPosList() {
+		buf.clear();
+		CollectionStreamCodecs.PACKED_BLOCK_POS_LIST.encode(buf, positions);
+		return buf;
+	}
+
+	@Benchmark
+	public ByteBuf encodeBatchLongList() {
+		buf.clear();
+		BatchStreamCodecs.LONG_LIST.encode(buf, positions);
+		return buf;
+	}
+
+	@Benchmark
+	public LongList decodeBatchLongList() {
+		encodedPositions.readerIndex(0);
+		return BatchStreamCodecs.LONG_LIST.decode(encodedPositions);
+	}
+}
@@ -0,0 +1,92 @@
+package dev.latvian.mods.klib.bench;
+
+import dev.latvian.mods.klib.color.Color;
+import dev.latvian.mods.klib.texture.LightUV;
+import dev.latvian.mods.klib.texture.OverlayUV;
+import dev.latvian.mods.klib.texture.UV;
+import dev.latvian.mods.klib.vertex.VertexCallback;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VertexCallbackBenchmark {
+	public static final int VERTICES = 1024;
+
+	private Matrix4f pose;
+	private Matrix3f normal;
+	private float[] positions;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		pose = new Matrix4f().translate(10F, 64F, -20F).rotateYXZ(0.5F, 0.25F, 0.125F).scale(2F);
+		normal = pose.normal(new Matrix3f());
+		positions = new float[VERTICES * 3];
+
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = (i * 0.37F) % 16F - 8F;
+		}
+	}
+
+	private void emit(VertexCallback callback) {
+		for (int i = 0; i < VERTICES; i++) {
+			callback.acceptPos(positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]).acceptTex(0.5F, 0.5F).acceptNormal(0F, 1F, 0F);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VERTICES)
+	public void direct(Blackhole blackhole) {
+		emit(new BlackholeVertexCallback(blackhole));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VERTICES)
+	public void transformed(Blackhole blackhole) {
+		emit(new BlackholeVertexCallback(blackhole).withTransformedPositionsAndNormals(pose, normal, true));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VERTICES)
+	public void transformedColored(Blackhole blackhole) {
+		emit(new BlackholeVertexCallback(blackhole).withTransformedPositionsAndNormals(pose, normal, true).withColor(Color.CYAN));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VERTICES)
+	public void entityChain(Blackhole blackhole) {
+		emit(new BlackholeVertexCallback(blackhole)
+			.withTransformedPositionsAndNormals(pose, normal, true)
+			.withColor(Color.CYAN)
+			.withTex(UV.FULL)
+			.withLight(LightUV.FULL_BLOCK)
+			.withOverlay(OverlayUV.NORMAL)
+		);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VERTICES)
+	public void fusedEntityChain(Blackhole blackhole) {
+		emit(new BlackholeVertexCallback(blackhole)
+			.withTransformedPositionsAndNormals(pose, normal, true)
+			.withColor(Color.CYAN)
+			.withTex(UV.FULL)
+			.withLight(LightUV.FULL_BLOCK)
+			.withOverlay(OverlayUV.NORMAL)
+			.fused()
+		);
+	}
+}
@@ -0,0 +1,119 @@
+package dev.latvian.mods.klib.bench;
+
+import dev.latvian.mods.klib.vertex.VertexCallback;
+import dev.latvian.mods.klib.vertex.VertexTransformKernel;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-vertex {@link dev.latvian.mods.klib.vertex.TransformedVertexCallback} against the batch kernels. The vector kernel falls back to scalar if the fork wasn't started with the incubator module
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VertexTransformKernelBenchmark {
+	@Param({"64", "1024", "16384"})
+	public int count;
+
+	private Matrix4f pose;
+	private Matrix3f normal;
+	private float[] x, y, z, nx, ny, nz;
+	private float[] ox, oy, oz, onx, ony, onz;
+	private VertexCallback perVertex;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		pose = new Matrix4f().translate(10F, 64F, -20F).rotateYXZ(0.5F, 0.25F, 0.125F).scale(2F);
+		normal = pose.normal(new Matrix3f());
+		x = new float[count];
+		y = new float[count];
+		z = new float[count];
+		nx = new float[count];
+		ny = new float[count];
+		nz = new float[count];
+		ox = new float[count];
+		oy = new float[count];
+		oz = new float[count];
+		onx = new float[count];
+		ony = new float[count];
+		onz = new float[count];
+
+		for (int i = 0; i < count; i++) {
+			x[i] = (i * 0.37F) % 16F - 8F;
+			y[i] = (i * 0.53F) % 16F - 8F;
+			z[i] = (i * 0.71F) % 16F - 8F;
+			nx[i] = (i % 3) - 1F;
+			ny[i] = 1F;
+			nz[i] = ((i + 1) % 3) - 1F;
+		}
+
+		VertexCallback sink = new VertexCallback() {
+			private int index = -1;
+
+			@Override
+			public VertexCallback acceptPos(float px, float py, float pz) {
+				if (++index == count) {
+					index = 0;
+				}
+
+				ox[index] = px;
+				oy[index] = py;
+				oz[index] = pz;
+				return this;
+			}
+
+			@Override
+			public VertexCallback acceptNormal(float px, float py, float pz) {
+				onx[index] = px;
+				ony[index] = py;
+				onz[index] = pz;
+				return this;
+			}
+		};
+
+		// Call acceptNormal on the decorator itself, so the normal goes through the normal matrix
+		perVertex = sink.withTransformedPositionsAndNormals(pose, normal, true);
+	}
+
+	@Benchmark
+	public void perVertex(Blackhole blackhole) {
+		var callback = perVertex;
+
+		for (int i = 0; i < count; i++) {
+			callback.acceptPos(x[i], y[i], z[i]);
+			callback.acceptNormal(nx[i], ny[i], nz[i]);
+		}
+
+		blackhole.consume(ox);
+		blackhole.consume(onx);
+	}
+
+	private void kernel(VertexTransformKernel kernel, Blackhole blackhole) {
+		kernel.transformPositions(pose, x, y, z, 0, ox, oy, oz, 0, count);
+		kernel.transformNormals(normal, true, nx, ny, nz, 0, onx, ony, onz, 0, count);
+		blackhole.consume(ox);
+		blackhole.consume(onx);
+	}
+
+	@Benchmark
+	public void scalarKernel(Blackhole blackhole) {
+		kernel(VertexTransformKernel.SCALAR, blackhole);
+	}
+
+	@Benchmark
+	public void vectorKernel(Blackhole blackhole) {
+		kernel(VertexTransformKernel.VECTOR == null ? VertexTransformKernel.SCALAR : VertexTransformKernel.VECTOR, blackhole);
+	}
+}
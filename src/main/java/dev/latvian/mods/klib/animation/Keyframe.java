@@ -0,0 +1,40 @@
+package dev.latvian.mods.klib.animation;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import dev.latvian.mods.klib.data.DataType;
+import dev.latvian.mods.klib.easing.Easing;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+
+/**
+ * A value at a point in time. The easing shapes the segment from this keyframe to the next one
+ */
+public record Keyframe<T>(float time, T value, Easing easing) implements Comparable<Keyframe<T>> {
+	public static <T> Codec<Keyframe<T>> codec(DataType<T> type) {
+		return RecordCodecBuilder.create(instance -> instance.group(
+			Codec.FLOAT.fieldOf("time").forGetter(Keyframe::time),
+			type.codec().fieldOf("value").forGetter(Keyframe::value),
+			Easing.CODEC.optionalFieldOf("easing", Easing.LINEAR).forGetter(Keyframe::easing)
+		).apply(instance, Keyframe::new));
+	}
+
+	public static <T> StreamCodec<RegistryFriendlyByteBuf, Keyframe<T>> streamCodec(DataType<T> type) {
+		return StreamCodec.composite(
+			ByteBufCodecs.FLOAT, Keyframe::time,
+			type.streamCodec(), Keyframe::value,
+			Easing.STREAM_CODEC, Keyframe::easing,
+			Keyframe::new
+		);
+	}
+
+	public Keyframe(float time, T value) {
+		this(time, value, Easing.LINEAR);
+	}
+
+	@Override
+	public int compareTo(Keyframe<T> other) {
+		return Float.compare(time, other.time);
+	}
+}
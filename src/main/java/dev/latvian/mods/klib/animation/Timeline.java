@@ -0,0 +1,129 @@
+package dev.latvian.mods.klib.animation;
+
+import com.mojang.serialization.Codec;
+import dev.latvian.mods.klib.data.DataType;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named tracks played together. Use {@link #player()} to evaluate many tracks every frame without searching keyframes from scratch
+ */
+public record Timeline(Map<String, Track<?>> tracks) {
+	public static final Timeline EMPTY = new Timeline(Map.of());
+
+	public static final Codec<Timeline> CODEC = Codec.unboundedMap(Codec.STRING, Track.CODEC).xmap(Timeline::new, Timeline::tracks);
+	public static final StreamCodec<RegistryFriendlyByteBuf, Timeline> STREAM_CODEC = ByteBufCodecs.<RegistryFriendlyByteBuf, String, Track<?>, Map<String, Track<?>>>map(LinkedHashMap::new, ByteBufCodecs.STRING_UTF8, Track.STREAM_CODEC).map(Timeline::new, Timeline::tracks);
+	public static final DataType<Timeline> DATA_TYPE = DataType.of(CODEC, STREAM_CODEC, Timeline.class);
+
+	public float startTime() {
+		float start = Float.POSITIVE_INFINITY;
+
+		for (var track : tracks.values()) {
+			start = Math.min(start, track.startTime());
+		}
+
+		return tracks.isEmpty() ? 0F : start;
+	}
+
+	public float endTime() {
+		float end = Float.NEGATIVE_INFINITY;
+
+		for (var track : tracks.values()) {
+			end = Math.max(end, track.endTime());
+		}
+
+		return tracks.isEmpty() ? 0F : end;
+	}
+
+	public float duration() {
+		return endTime() - startTime();
+	}
+
+	public Player player() {
+		return new Player(this);
+	}
+
+	/**
+	 * Playback state of a timeline. Tracks are addressed by index and each one keeps a cursor, so when time moves forward a lookup is usually one or two comparisons.
+	 * Not thread safe, create one per playing instance
+	 */
+	public static final class Player {
+		private final String[] names;
+		private final Track<?>[] tracks;
+		private final int[] cursors;
+
+		private Player(Timeline timeline) {
+			int n = timeline.tracks.size();
+			this.names = new String[n];
+			this.tracks = new Track<?>[n];
+			this.cursors = new int[n];
+			int i = 0;
+
+			for (var entry : timeline.tracks.entrySet()) {
+				names[i] = entry.getKey();
+				tracks[i] = entry.getValue();
+				i++;
+			}
+
+			reset();
+		}
+
+		public int size() {
+			return tracks.length;
+		}
+
+		/**
+		 * @return index of the named track, or -1 if there is none. Look this up once and keep the index
+		 */
+		public int indexOf(String name) {
+			for (int i = 0; i < names.length; i++) {
+				if (names[i].equals(name)) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		public Track<?> track(int index) {
+			return tracks[index];
+		}
+
+		/**
+		 * Forgets all cursors, e.g. after jumping back to the start
+		 */
+		public void reset() {
+			Arrays.fill(cursors, -1);
+		}
+
+		private int seek(int index, float time) {
+			int c = tracks[index].seek(time, cursors[index]);
+			cursors[index] = c;
+			return c;
+		}
+
+		public Object get(int index, float time) {
+			return tracks[index].get(time, seek(index, time));
+		}
+
+		@SuppressWarnings("unchecked")
+		public <T> T get(int index, TrackType<T> type, float time) {
+			var track = tracks[index];
+
+			if (track.type() != type) {
+				throw new IllegalArgumentException("Track " + names[index] + " is " + track.type() + ", not " + type);
+			}
+
+			return ((Track<T>) track).get(time, seek(index, time));
+		}
+
+		public float getFloat(int index, float time) {
+			return tracks[index].getFloat(time, seek(index, time));
+		}
+	}
+}
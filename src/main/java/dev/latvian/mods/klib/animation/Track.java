@@ -0,0 +1,201 @@
+package dev.latvian.mods.klib.animation;
+
+import com.mojang.serialization.Codec;
+import dev.latvian.mods.klib.easing.Easing;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorted keyframes of a single value. Times, values and easings are kept in flat arrays, lookups are a binary search,
+ * or a few steps forward from a cursor when playback only moves forward
+ */
+public final class Track<T> {
+	public static final Codec<Track<?>> CODEC = TrackType.CODEC.dispatch("type", Track::type, TrackType::codec);
+	public static final StreamCodec<RegistryFriendlyByteBuf, Track<?>> STREAM_CODEC = TrackType.STREAM_CODEC.dispatch(Track::type, TrackType::streamCodec);
+
+	/**
+	 * Steps a cursor may walk forward before falling back to a binary search
+	 */
+	private static final int MAX_SEEK_STEPS = 4;
+
+	private final TrackType<T> type;
+	private final List<Keyframe<T>> keyframes;
+	private final float[] times;
+	private final Object[] values;
+	private final Easing[] easings;
+	private final float[] floats;
+
+	public Track(TrackType<T> type, List<Keyframe<T>> keyframes) {
+		if (keyframes.isEmpty()) {
+			throw new IllegalArgumentException("Track must have at least one keyframe");
+		}
+
+		var sorted = new ArrayList<>(keyframes);
+		// List.sort is stable, keyframes with equal times keep their order and act as a jump
+		sorted.sort(null);
+
+		this.type = type;
+		this.keyframes = List.copyOf(sorted);
+		int n = sorted.size();
+		this.times = new float[n];
+		this.values = new Object[n];
+		this.easings = new Easing[n];
+		this.floats = type == TrackType.FLOAT ? new float[n] : null;
+
+		for (int i = 0; i < n; i++) {
+			var k = sorted.get(i);
+			times[i] = k.time();
+			values[i] = k.value();
+			easings[i] = k.easing();
+
+			if (floats != null) {
+				floats[i] = (Float) k.value();
+			}
+		}
+	}
+
+	public TrackType<T> type() {
+		return type;
+	}
+
+	public List<Keyframe<T>> keyframes() {
+		return keyframes;
+	}
+
+	public int size() {
+		return times.length;
+	}
+
+	public float startTime() {
+		return times[0];
+	}
+
+	public float endTime() {
+		return times[times.length - 1];
+	}
+
+	public float duration() {
+		return endTime() - startTime();
+	}
+
+	/**
+	 * @return index of the last keyframe at or before the given time, or -1 if it's before the first one
+	 */
+	public int find(float time) {
+		int lo = 0;
+		int hi = times.length - 1;
+
+		if (time < times[0]) {
+			return -1;
+		} else if (time >= times[hi]) {
+			return hi;
+		}
+
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+
+			if (times[mid] <= time) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+
+		return lo;
+	}
+
+	/**
+	 * Same as {@link #find(float)}, but starts from the result of a previous call. Moving forward by a few keyframes is checked directly, anything else is a binary search
+	 */
+	public int seek(float time, int cursor) {
+		int last = times.length - 1;
+
+		if (cursor < 0 || cursor > last || time < times[cursor]) {
+			return find(time);
+		}
+
+		for (int i = 0; i < MAX_SEEK_STEPS; i++) {
+			if (cursor == last || time < times[cursor + 1]) {
+				return cursor;
+			}
+
+			cursor++;
+		}
+
+		return find(time);
+	}
+
+	/**
+	 * @return progress between keyframe <code>index</code> and the next one, already eased
+	 */
+	private float delta(float time, int index) {
+		float t0 = times[index];
+		float t1 = times[index + 1];
+
+		if (t1 <= t0) {
+			return 1F;
+		}
+
+		return easings[index].ease((time - t0) / (t1 - t0));
+	}
+
+	@SuppressWarnings("unchecked")
+	private T value(int index) {
+		return (T) values[index];
+	}
+
+	public T get(float time) {
+		return get(time, find(time));
+	}
+
+	/**
+	 * @param index result of {@link #find(float)} or {@link #seek(float, int)} for the same time
+	 */
+	public T get(float time, int index) {
+		if (index < 0) {
+			return value(0);
+		} else if (index >= times.length - 1) {
+			return value(times.length - 1);
+		}
+
+		return type.interpolator.lerp(delta(time, index), value(index), value(index + 1));
+	}
+
+	public float getFloat(float time) {
+		return getFloat(time, find(time));
+	}
+
+	/**
+	 * Unboxed {@link #get(float, int)} for {@link TrackType#FLOAT} tracks
+	 */
+	public float getFloat(float time, int index) {
+		if (floats == null) {
+			throw new IllegalStateException("Not a float track");
+		} else if (index < 0) {
+			return floats[0];
+		} else if (index >= floats.length - 1) {
+			return floats[floats.length - 1];
+		}
+
+		float a = floats[index];
+		return a + (floats[index + 1] - a) * delta(time, index);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this || obj instanceof Track<?> t && type == t.type && keyframes.equals(t.keyframes);
+	}
+
+	@Override
+	public int hashCode() {
+		return type.hashCode() * 31 + keyframes.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "Track[" + type + ", " + keyframes + "]";
+	}
+}
@@ -0,0 +1,93 @@
+package dev.latvian.mods.klib.animation;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.MapCodec;
+import dev.latvian.mods.klib.color.Color;
+import dev.latvian.mods.klib.data.DataType;
+import dev.latvian.mods.klib.data.DataTypes;
+import dev.latvian.mods.klib.math.KMath;
+import dev.latvian.mods.klib.math.Rotation;
+import dev.latvian.mods.klib.math.Vec3f;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.util.StringRepresentable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Kind of value a {@link Track} animates, and how to blend between two of them
+ */
+public final class TrackType<T> implements StringRepresentable {
+	@FunctionalInterface
+	public interface Interpolator<T> {
+		T lerp(float delta, T from, T to);
+	}
+
+	public static final TrackType<Float> FLOAT = new TrackType<>("float", DataTypes.FLOAT, KMath::lerp);
+	public static final TrackType<Vec3f> VEC3F = new TrackType<>("vec3f", Vec3f.DATA_TYPE, (delta, from, to) -> from.lerp(delta, to));
+	public static final TrackType<Color> COLOR = new TrackType<>("color", Color.DATA_TYPE, (delta, from, to) -> from.lerp(delta, to));
+	public static final TrackType<Rotation> ROTATION = new TrackType<>("rotation", Rotation.DATA_TYPE, (delta, from, to) -> from.lerp(delta, to));
+
+	public static final List<TrackType<?>> LIST = List.of(FLOAT, VEC3F, COLOR, ROTATION);
+
+	public static final Map<String, TrackType<?>> MAP = Map.copyOf(LIST.stream().collect(Collectors.toMap(TrackType::name, Function.identity())));
+
+	public static final Codec<TrackType<?>> CODEC = Codec.STRING.flatXmap(s -> {
+		var type = MAP.get(s);
+		return type == null ? DataResult.error(() -> "Track type not found") : DataResult.success(type);
+	}, t -> DataResult.success(t.name()));
+
+	public static final StreamCodec<RegistryFriendlyByteBuf, TrackType<?>> STREAM_CODEC = ByteBufCodecs.STRING_UTF8.<TrackType<?>>map(MAP::get, TrackType::name).cast();
+
+	private final String name;
+	public final DataType<T> dataType;
+	public final Interpolator<T> interpolator;
+	final MapCodec<Track<T>> codec;
+	final StreamCodec<RegistryFriendlyByteBuf, Track<T>> streamCodec;
+
+	private TrackType(String name, DataType<T> dataType, Interpolator<T> interpolator) {
+		this.name = name;
+		this.dataType = dataType;
+		this.interpolator = interpolator;
+		this.codec = Keyframe.codec(dataType).listOf().fieldOf("keyframes").flatXmap(
+			k -> k.isEmpty() ? DataResult.error(() -> "Track must have at least one keyframe") : DataResult.success(new Track<>(this, k)),
+			t -> DataResult.success(t.keyframes())
+		);
+
+		this.streamCodec = Keyframe.streamCodec(dataType).apply(ByteBufCodecs.list()).map(k -> {
+			if (k.isEmpty()) {
+				throw new DecoderException("Track must have at least one keyframe");
+			}
+
+			return new Track<>(this, k);
+		}, Track::keyframes);
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public MapCodec<Track<T>> codec() {
+		return codec;
+	}
+
+	public StreamCodec<RegistryFriendlyByteBuf, Track<T>> streamCodec() {
+		return streamCodec;
+	}
+
+	@Override
+	public String getSerializedName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
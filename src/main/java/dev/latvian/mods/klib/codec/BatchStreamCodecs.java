@@ -0,0 +1,363 @@
+package dev.latvian.mods.klib.codec;
+
+import dev.latvian.mods.klib.util.MapFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.floats.FloatList;
+import it.unimi.dsi.fastutil.floats.FloatLists;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongLists;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.codec.StreamCodec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collection codecs that reserve the whole payload up front instead of letting the buffer grow element by element.
+ * Primitive lists are copied as a single run, read through an NIO view of the buffer and written from a filled heap buffer; object collections reserve space using a running estimate of their element size.
+ * All of them are wire compatible with their element-by-element counterparts ({@link CollectionStreamCodecs} and {@link dev.latvian.mods.klib.core.KLibStreamCodec}), except {@link #INT_LIST} which uses fixed-width ints.
+ */
+public interface BatchStreamCodecs {
+	StreamCodec<ByteBuf, LongList> LONG_LIST = new StreamCodec<>() {
+		@Override
+		public LongList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return LongLists.emptyList();
+			} else if (size == 1) {
+				return LongLists.singleton(buf.readLong());
+			}
+
+			var array = new long[size];
+			readRun(buf, size * 8).asLongBuffer().get(array);
+			return LongArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, LongList value) {
+			int size = value.size();
+			VarInt.write(buf, size);
+
+			if (size == 0) {
+				return;
+			}
+
+			var run = writeRun(size * 8);
+
+			if (value instanceof LongArrayList list) {
+				run.asLongBuffer().put(list.elements(), 0, size);
+			} else {
+				var out = run.asLongBuffer();
+
+				for (int i = 0; i < size; i++) {
+					out.put(value.getLong(i));
+				}
+			}
+
+			buf.writeBytes(run);
+		}
+	};
+
+	/**
+	 * Fixed 4 byte ints - larger than {@link CollectionStreamCodecs#VAR_INT_LIST} for small values but copied as a single run
+	 */
+	StreamCodec<ByteBuf, IntList> INT_LIST = new StreamCodec<>() {
+		@Override
+		public IntList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return IntLists.emptyList();
+			} else if (size == 1) {
+				return IntLists.singleton(buf.readInt());
+			}
+
+			var array = new int[size];
+			readRun(buf, size * 4).asIntBuffer().get(array);
+			return IntArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, IntList value) {
+			int size = value.size();
+			VarInt.write(buf, size);
+
+			if (size == 0) {
+				return;
+			}
+
+			var run = writeRun(size * 4);
+
+			if (value instanceof IntArrayList list) {
+				run.asIntBuffer().put(list.elements(), 0, size);
+			} else {
+				var out = run.asIntBuffer();
+
+				for (int i = 0; i < size; i++) {
+					out.put(value.getInt(i));
+				}
+			}
+
+			buf.writeBytes(run);
+		}
+	};
+
+	StreamCodec<ByteBuf, FloatList> FLOAT_LIST = new StreamCodec<>() {
+		@Override
+		public FloatList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return FloatLists.emptyList();
+			} else if (size == 1) {
+				return FloatLists.singleton(buf.readFloat());
+			}
+
+			var array = new float[size];
+			readRun(buf, size * 4).asFloatBuffer().get(array);
+			return FloatArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, FloatList value) {
+			int size = value.size();
+			VarInt.write(buf, size);
+
+			if (size == 0) {
+				return;
+			}
+
+			var run = writeRun(size * 4);
+
+			if (value instanceof FloatArrayList list) {
+				run.asFloatBuffer().put(list.elements(), 0, size);
+			} else {
+				var out = run.asFloatBuffer();
+
+				for (int i = 0; i < size; i++) {
+					out.put(value.getFloat(i));
+				}
+			}
+
+			buf.writeBytes(run);
+		}
+	};
+
+	StreamCodec<ByteBuf, List<BlockPos>> BLOCK_POS_LIST = LONG_LIST.map(
+		list -> {
+			var result = new ArrayList<BlockPos>(list.size());
+
+			for (int i = 0; i < list.size(); i++) {
+				result.add(BlockPos.of(list.getLong(i)));
+			}
+
+			return result;
+		},
+		list -> {
+			var result = new LongArrayList(list.size());
+
+			for (var pos : list) {
+				result.add(pos.asLong());
+			}
+
+			return result;
+		}
+	);
+
+	/**
+	 * Big-endian heap buffer to fill and then copy into the ByteBuf with a single {@link ByteBuf#writeBytes(ByteBuffer)}.
+	 * Writing through {@link ByteBuf#nioBuffer(int, int)} isn't safe, as it may return a copy instead of a view
+	 */
+	private static ByteBuffer writeRun(int bytes) {
+		return ByteBuffer.allocate(bytes);
+	}
+
+	private static ByteBuffer readRun(ByteBuf buf, int bytes) {
+		var run = buf.nioBuffer(buf.readerIndex(), bytes).order(ByteOrder.BIG_ENDIAN);
+		buf.skipBytes(bytes);
+		return run;
+	}
+
+	/**
+	 * List of elements that always encode to exactly <code>elementSize</code> bytes, e.g. {@link net.minecraft.network.codec.ByteBufCodecs#FLOAT} or {@link JOMLStreamCodecs#VEC3}
+	 */
+	static <B extends ByteBuf, V> StreamCodec<B, List<V>> fixedList(StreamCodec<? super B, V> codec, int elementSize) {
+		return new StreamCodec<>() {
+			@Override
+			public List<V> decode(B buf) {
+				int size = VarInt.read(buf);
+
+				if (size == 0) {
+					return List.of();
+				} else if (size == 1) {
+					return List.of(codec.decode(buf));
+				}
+
+				var list = new ArrayList<V>(size);
+
+				for (int i = 0; i < size; i++) {
+					list.add(codec.decode(buf));
+				}
+
+				return list;
+			}
+
+			@Override
+			public void encode(B buf, List<V> value) {
+				VarInt.write(buf, value.size());
+				buf.ensureWritable(value.size() * elementSize);
+
+				for (var v : value) {
+					codec.encode(buf, v);
+				}
+			}
+		};
+	}
+
+	static <B extends ByteBuf, V> StreamCodec<B, List<V>> list(StreamCodec<? super B, V> codec) {
+		var size = new StreamSizeEstimate(8);
+
+		return new StreamCodec<>() {
+			@Override
+			public List<V> decode(B buf) {
+				int count = VarInt.read(buf);
+
+				if (count == 0) {
+					return List.of();
+				} else if (count == 1) {
+					return List.of(codec.decode(buf));
+				}
+
+				var list = new ArrayList<V>(count);
+
+				for (int i = 0; i < count; i++) {
+					list.add(codec.decode(buf));
+				}
+
+				return list;
+			}
+
+			@Override
+			public void encode(B buf, List<V> value) {
+				int count = value.size();
+				int start = size.reserve(buf, count);
+				VarInt.write(buf, count);
+
+				for (var v : value) {
+					codec.encode(buf, v);
+				}
+
+				size.update(buf, start, count);
+			}
+		};
+	}
+
+	static <B extends ByteBuf, V> StreamCodec<B, Set<V>> set(StreamCodec<? super B, V> codec) {
+		var size = new StreamSizeEstimate(8);
+
+		return new StreamCodec<>() {
+			@Override
+			public Set<V> decode(B buf) {
+				int count = VarInt.read(buf);
+
+				if (count == 0) {
+					return Set.of();
+				} else if (count == 1) {
+					return Set.of(codec.decode(buf));
+				}
+
+				var set = new HashSet<V>(count);
+
+				for (int i = 0; i < count; i++) {
+					set.add(codec.decode(buf));
+				}
+
+				return set;
+			}
+
+			@Override
+			public void encode(B buf, Set<V> value) {
+				int count = value.size();
+				int start = size.reserve(buf, count);
+				VarInt.write(buf, count);
+
+				for (var v : value) {
+					codec.encode(buf, v);
+				}
+
+				size.update(buf, start, count);
+			}
+		};
+	}
+
+	static <B extends ByteBuf, K, V> StreamCodec<B, Map<K, V>> map(StreamCodec<? super B, K> keyCodec, StreamCodec<? super B, V> valueCodec, boolean ordered, boolean identity) {
+		var size = new StreamSizeEstimate(16);
+
+		return new StreamCodec<>() {
+			@Override
+			public Map<K, V> decode(B buf) {
+				int count = VarInt.read(buf);
+
+				if (count == 0) {
+					return Map.of();
+				} else if (count == 1) {
+					return Map.of(keyCodec.decode(buf), valueCodec.decode(buf));
+				}
+
+				var map = MapFactory.<K, V>create(count, ordered, identity);
+
+				for (int i = 0; i < count; i++) {
+					map.put(keyCodec.decode(buf), valueCodec.decode(buf));
+				}
+
+				return map;
+			}
+
+			@Override
+			public void encode(B buf, Map<K, V> value) {
+				int count = value.size();
+				int start = size.reserve(buf, count);
+				VarInt.write(buf, count);
+
+				for (var entry : value.entrySet()) {
+					keyCodec.encode(buf, entry.getKey());
+					valueCodec.encode(buf, entry.getValue());
+				}
+
+				size.update(buf, start, count);
+			}
+		};
+	}
+
+	static <B extends ByteBuf, K, V> StreamCodec<B, Map<K, V>> map(StreamCodec<? super B, K> keyCodec, StreamCodec<? super B, V> valueCodec) {
+		return map(keyCodec, valueCodec, false, false);
+	}
+
+	/**
+	 * Encodes the value into a pooled direct buffer sized from <code>sizeHint</code>. The caller owns the returned buffer and has to release it
+	 */
+	static <V> ByteBuf encodePooled(StreamCodec<? super ByteBuf, V> codec, V value, int sizeHint) {
+		var buf = PooledByteBufAllocator.DEFAULT.directBuffer(Math.max(64, sizeHint));
+
+		try {
+			codec.encode(buf, value);
+			return buf;
+		} catch (Throwable ex) {
+			buf.release();
+			throw ex;
+		}
+	}
+}
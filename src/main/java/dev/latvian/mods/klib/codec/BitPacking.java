@@ -0,0 +1,179 @@
+package dev.latvian.mods.klib.codec;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.VarLong;
+
+/**
+ * Helpers for compact integer encodings - zigzag varints and frame-of-reference bit packing.
+ * A packed block is written as the zigzag VarLong minimum, one byte of bits per value, and then <code>count * bits</code> bits of <code>value - min</code> in whole longs followed by the remaining tail bytes
+ */
+final class BitPacking {
+	private BitPacking() {
+	}
+
+	static int zigZag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	static int unZigZag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1L);
+	}
+
+	static void writeZigZagVarInt(ByteBuf buf, int value) {
+		VarInt.write(buf, zigZag(value));
+	}
+
+	static int readZigZagVarInt(ByteBuf buf) {
+		return unZigZag(VarInt.read(buf));
+	}
+
+	static void writeZigZagVarLong(ByteBuf buf, long value) {
+		VarLong.write(buf, zigZag(value));
+	}
+
+	static long readZigZagVarLong(ByteBuf buf) {
+		return unZigZag(VarLong.read(buf));
+	}
+
+	static int bitsFor(long range) {
+		return 64 - Long.numberOfLeadingZeros(range);
+	}
+
+	static void writePacked(ByteBuf buf, long[] values, int count) {
+		if (count == 0) {
+			return;
+		}
+
+		long min = values[0];
+		long max = values[0];
+
+		for (int i = 1; i < count; i++) {
+			min = Math.min(min, values[i]);
+			max = Math.max(max, values[i]);
+		}
+
+		// max - min is treated as unsigned, so full-range longs still fit in 64 bits
+		int bits = bitsFor(max - min);
+		writeZigZagVarLong(buf, min);
+		buf.writeByte(bits);
+
+		if (bits == 0) {
+			return;
+		}
+
+		long acc = 0L;
+		int accBits = 0;
+
+		for (int i = 0; i < count; i++) {
+			long v = values[i] - min;
+			acc |= v << accBits;
+			int total = accBits + bits;
+
+			if (total >= 64) {
+				buf.writeLong(acc);
+				int over = total - 64;
+				acc = over == 0 ? 0L : v >>> (bits - over);
+				accBits = over;
+			} else {
+				accBits = total;
+			}
+		}
+
+		for (int i = 0; i < accBits; i += 8) {
+			buf.writeByte((int) (acc >>> i));
+		}
+	}
+
+	static void readPacked(ByteBuf buf, long[] values, int count) {
+		if (count == 0) {
+			return;
+		}
+
+		long min = readZigZagVarLong(buf);
+		int bits = buf.readUnsignedByte();
+
+		if (bits == 0) {
+			for (int i = 0; i < count; i++) {
+				values[i] = min;
+			}
+
+			return;
+		} else if (bits > 64) {
+			throw new IllegalArgumentException("Invalid packed bit width " + bits);
+		}
+
+		long mask = bits == 64 ? -1L : (1L << bits) - 1L;
+		long totalBits = (long) count * bits;
+		long fullWords = totalBits >>> 6;
+		int tailBytes = (int) (((totalBits & 63L) + 7L) >>> 3);
+		long acc = 0L;
+		int accBits = 0;
+
+		for (int i = 0; i < count; i++) {
+			if (accBits >= bits) {
+				values[i] = min + (acc & mask);
+				acc = bits == 64 ? 0L : acc >>> bits;
+				accBits -= bits;
+			} else {
+				long word;
+
+				if (fullWords > 0L) {
+					word = buf.readLong();
+					fullWords--;
+				} else {
+					word = 0L;
+
+					for (int b = 0; b < tailBytes; b++) {
+						word |= (long) buf.readUnsignedByte() << (b << 3);
+					}
+
+					tailBytes = 0;
+				}
+
+				values[i] = min + ((acc | (word << accBits)) & mask);
+				int used = bits - accBits;
+				acc = used == 64 ? 0L : word >>> used;
+				accBits = 64 - used;
+			}
+		}
+	}
+
+	/**
+	 * Writes the lowest <code>bytes * 8</code> bits of the value, most significant byte first
+	 */
+	static void writeBytes(ByteBuf buf, long value, int bytes) {
+		for (int i = bytes - 1; i >= 0; i--) {
+			buf.writeByte((int) (value >>> (i << 3)));
+		}
+	}
+
+	static long readBytes(ByteBuf buf, int bytes) {
+		long value = 0L;
+
+		for (int i = 0; i < bytes; i++) {
+			value = (value << 8) | buf.readUnsignedByte();
+		}
+
+		return value;
+	}
+
+	static int quantize(float value, float min, float max, int bits) {
+		int steps = (1 << bits) - 1;
+		float t = (value - min) / (max - min);
+		return Math.round((t <= 0F ? 0F : t >= 1F ? 1F : t) * steps);
+	}
+
+	static float dequantize(int value, float min, float max, int bits) {
+		int steps = (1 << bits) - 1;
+		return min + (max - min) * value / (float) steps;
+	}
+}
@@ -4,13 +4,22 @@ import io.netty.buffer.ByteBuf;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.longs.LongAVLTreeSet;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrays;
 import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongLists;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import it.unimi.dsi.fastutil.longs.LongSortedSet;
+import it.unimi.dsi.fastutil.longs.LongSortedSets;
 import it.unimi.dsi.fastutil.shorts.ShortArrayList;
 import it.unimi.dsi.fastutil.shorts.ShortList;
 import it.unimi.dsi.fastutil.shorts.ShortLists;
+import net.minecraft.core.BlockPos;
 import net.minecraft.network.VarInt;
+import net.minecraft.network.VarLong;
 import net.minecraft.network.codec.StreamCodec;
 
 public interface CollectionStreamCodecs {
@@ -103,4 +112,267 @@ public interface CollectionStreamCodecs {
 			}
 		}
 	};
+
+	/**
+	 * Each element is written as the zigzag VarInt difference from the previous one, so runs of close values take a byte each
+	 */
+	StreamCodec<ByteBuf, IntList> DELTA_VAR_INT_LIST = new StreamCodec<>() {
+		@Override
+		public IntList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return IntLists.emptyList();
+			}
+
+			var array = new int[size];
+			int prev = 0;
+
+			for (int i = 0; i < size; i++) {
+				prev += BitPacking.readZigZagVarInt(buf);
+				array[i] = prev;
+			}
+
+			return IntArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, IntList value) {
+			VarInt.write(buf, value.size());
+			int prev = 0;
+
+			for (int i = 0; i < value.size(); i++) {
+				int v = value.getInt(i);
+				BitPacking.writeZigZagVarInt(buf, v - prev);
+				prev = v;
+			}
+		}
+	};
+
+	StreamCodec<ByteBuf, LongList> DELTA_VAR_LONG_LIST = new StreamCodec<>() {
+		@Override
+		public LongList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return LongLists.emptyList();
+			}
+
+			var array = new long[size];
+			long prev = 0L;
+
+			for (int i = 0; i < size; i++) {
+				prev += BitPacking.readZigZagVarLong(buf);
+				array[i] = prev;
+			}
+
+			return LongArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, LongList value) {
+			VarInt.write(buf, value.size());
+			long prev = 0L;
+
+			for (int i = 0; i < value.size(); i++) {
+				long v = value.getLong(i);
+				BitPacking.writeZigZagVarLong(buf, v - prev);
+				prev = v;
+			}
+		}
+	};
+
+	/**
+	 * Frame-of-reference bit packing - every element takes only as many bits as the spread between the smallest and largest value needs
+	 */
+	StreamCodec<ByteBuf, IntList> PACKED_INT_LIST = new StreamCodec<>() {
+		@Override
+		public IntList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return IntLists.emptyList();
+			}
+
+			var values = new long[size];
+			BitPacking.readPacked(buf, values, size);
+			var array = new int[size];
+
+			for (int i = 0; i < size; i++) {
+				array[i] = (int) values[i];
+			}
+
+			return IntArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, IntList value) {
+			int size = value.size();
+			VarInt.write(buf, size);
+			var values = new long[size];
+
+			for (int i = 0; i < size; i++) {
+				values[i] = value.getInt(i);
+			}
+
+			BitPacking.writePacked(buf, values, size);
+		}
+	};
+
+	StreamCodec<ByteBuf, LongList> PACKED_LONG_LIST = new StreamCodec<>() {
+		@Override
+		public LongList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return LongLists.emptyList();
+			}
+
+			var array = new long[size];
+			BitPacking.readPacked(buf, array, size);
+			return LongArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, LongList value) {
+			int size = value.size();
+			VarInt.write(buf, size);
+			BitPacking.writePacked(buf, value.toLongArray(), size);
+		}
+	};
+
+	/**
+	 * {@link BlockPos#asLong()} positions, split into x, y and z columns that are each bit packed on their own.
+	 * Packed longs mix all three coordinates, so a 16 block wide area still spans ~40 bits as a single value but only 4 bits per column here
+	 */
+	StreamCodec<ByteBuf, LongList> PACKED_BLOCK_POS_LIST = new StreamCodec<>() {
+		@Override
+		public LongList decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return LongLists.emptyList();
+			}
+
+			var x = new long[size];
+			var y = new long[size];
+			var z = new long[size];
+			BitPacking.readPacked(buf, x, size);
+			BitPacking.readPacked(buf, y, size);
+			BitPacking.readPacked(buf, z, size);
+			var array = new long[size];
+
+			for (int i = 0; i < size; i++) {
+				array[i] = BlockPos.asLong((int) x[i], (int) y[i], (int) z[i]);
+			}
+
+			return LongArrayList.wrap(array);
+		}
+
+		@Override
+		public void encode(ByteBuf buf, LongList value) {
+			int size = value.size();
+			VarInt.write(buf, size);
+
+			if (size == 0) {
+				return;
+			}
+
+			var x = new long[size];
+			var y = new long[size];
+			var z = new long[size];
+
+			for (int i = 0; i < size; i++) {
+				long pos = value.getLong(i);
+				x[i] = BlockPos.getX(pos);
+				y[i] = BlockPos.getY(pos);
+				z[i] = BlockPos.getZ(pos);
+			}
+
+			BitPacking.writePacked(buf, x, size);
+			BitPacking.writePacked(buf, y, size);
+			BitPacking.writePacked(buf, z, size);
+		}
+	};
+
+	/**
+	 * Writes the set in ascending order as the first value followed by unsigned VarLong gaps. Decodes into a hash set, see {@link #SORTED_LONG_SET} for the same format decoded into a sorted set
+	 */
+	StreamCodec<ByteBuf, LongSet> DELTA_LONG_SET = new StreamCodec<>() {
+		@Override
+		public LongSet decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return LongSets.emptySet();
+			}
+
+			var set = new LongOpenHashSet(size);
+			long prev = BitPacking.readZigZagVarLong(buf);
+			set.add(prev);
+
+			for (int i = 1; i < size; i++) {
+				prev += VarLong.read(buf);
+				set.add(prev);
+			}
+
+			return set;
+		}
+
+		@Override
+		public void encode(ByteBuf buf, LongSet value) {
+			var array = value.toLongArray();
+			LongArrays.unstableSort(array);
+			writeSortedDeltas(buf, array);
+		}
+	};
+
+	StreamCodec<ByteBuf, LongSortedSet> SORTED_LONG_SET = new StreamCodec<>() {
+		@Override
+		public LongSortedSet decode(ByteBuf buf) {
+			int size = VarInt.read(buf);
+
+			if (size == 0) {
+				return LongSortedSets.EMPTY_SET;
+			}
+
+			var set = new LongAVLTreeSet();
+			long prev = BitPacking.readZigZagVarLong(buf);
+			set.add(prev);
+
+			for (int i = 1; i < size; i++) {
+				prev += VarLong.read(buf);
+				set.add(prev);
+			}
+
+			return set;
+		}
+
+		@Override
+		public void encode(ByteBuf buf, LongSortedSet value) {
+			var array = value.toLongArray();
+
+			if (value.comparator() != null) {
+				LongArrays.unstableSort(array);
+			}
+
+			writeSortedDeltas(buf, array);
+		}
+	};
+
+	StreamCodec<ByteBuf, LongSet> PACKED_LONG_SET = PACKED_LONG_LIST.map(list -> new LongOpenHashSet(list), set -> LongArrayList.wrap(set.toLongArray()));
+
+	private static void writeSortedDeltas(ByteBuf buf, long[] sorted) {
+		VarInt.write(buf, sorted.length);
+
+		if (sorted.length == 0) {
+			return;
+		}
+
+		BitPacking.writeZigZagVarLong(buf, sorted[0]);
+
+		for (int i = 1; i < sorted.length; i++) {
+			VarLong.write(buf, sorted[i] - sorted[i - 1]);
+		}
+	}
 }
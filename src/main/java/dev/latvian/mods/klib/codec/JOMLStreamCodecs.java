@@ -579,4 +579,256 @@ public interface JOMLStreamCodecs {
 	StreamCodec<ByteBuf, Vector2ic> VIVEC2C = VIVEC2.map(Function.identity(), v -> v instanceof Vector2i c ? c : new Vector2i(v));
 	StreamCodec<ByteBuf, Vector3ic> VIVEC3C = VIVEC3.map(Function.identity(), v -> v instanceof Vector3i c ? c : new Vector3i(v));
 	StreamCodec<ByteBuf, Vector4ic> VIVEC4C = VIVEC4.map(Function.identity(), v -> v instanceof Vector4i c ? c : new Vector4i(v));
+
+	StreamCodec<ByteBuf, Float> HALF_FLOAT = new StreamCodec<>() {
+		@Override
+		public Float decode(ByteBuf buf) {
+			return Float.float16ToFloat(buf.readShort());
+		}
+
+		@Override
+		public void encode(ByteBuf buf, Float value) {
+			buf.writeShort(Float.floatToFloat16(value));
+		}
+	};
+
+	StreamCodec<ByteBuf, Vector3f> VEC3_HALF = new StreamCodec<>() {
+		@Override
+		public Vector3f decode(ByteBuf buf) {
+			return new Vector3f(Float.float16ToFloat(buf.readShort()), Float.float16ToFloat(buf.readShort()), Float.float16ToFloat(buf.readShort()));
+		}
+
+		@Override
+		public void encode(ByteBuf buf, Vector3f v) {
+			buf.writeShort(Float.floatToFloat16(v.x));
+			buf.writeShort(Float.floatToFloat16(v.y));
+			buf.writeShort(Float.floatToFloat16(v.z));
+		}
+	};
+
+	StreamCodec<ByteBuf, Quaternionf> QUATERNION_HALF = new StreamCodec<>() {
+		@Override
+		public Quaternionf decode(ByteBuf buf) {
+			return new Quaternionf(Float.float16ToFloat(buf.readShort()), Float.float16ToFloat(buf.readShort()), Float.float16ToFloat(buf.readShort()), Float.float16ToFloat(buf.readShort()));
+		}
+
+		@Override
+		public void encode(ByteBuf buf, Quaternionf v) {
+			buf.writeShort(Float.floatToFloat16(v.x));
+			buf.writeShort(Float.floatToFloat16(v.y));
+			buf.writeShort(Float.floatToFloat16(v.z));
+			buf.writeShort(Float.floatToFloat16(v.w));
+		}
+	};
+
+	/**
+	 * 4 bytes, under 0.25 degrees of rotation error
+	 */
+	StreamCodec<ByteBuf, Quaternionf> QUATERNION_SMALLEST_THREE = smallestThreeQuaternion(10);
+
+	/**
+	 * 2 bytes, under 1 degree of error
+	 */
+	StreamCodec<ByteBuf, Vector3f> NORMAL_OCT16 = octahedralNormal(8);
+
+	/**
+	 * 4 bytes, under 0.05 degrees of error
+	 */
+	StreamCodec<ByteBuf, Vector3f> NORMAL_OCT32 = octahedralNormal(16);
+
+	/**
+	 * Fixed-point float in [min, max], values outside are clamped. Uses <code>ceil(bits / 8)</code> bytes
+	 */
+	static StreamCodec<ByteBuf, Float> quantizedFloat(float min, float max, int bits) {
+		if (bits < 1 || bits > 24) {
+			throw new IllegalArgumentException("Bits must be in range [1, 24]");
+		}
+
+		int bytes = (bits + 7) >> 3;
+
+		return new StreamCodec<>() {
+			@Override
+			public Float decode(ByteBuf buf) {
+				return BitPacking.dequantize((int) BitPacking.readBytes(buf, bytes), min, max, bits);
+			}
+
+			@Override
+			public void encode(ByteBuf buf, Float value) {
+				BitPacking.writeBytes(buf, BitPacking.quantize(value, min, max, bits), bytes);
+			}
+		};
+	}
+
+	/**
+	 * Fixed-point vector with every component in [min, max], values outside are clamped. Components are packed together into <code>ceil(bits * 3 / 8)</code> bytes
+	 */
+	static StreamCodec<ByteBuf, Vector3f> quantizedVec3(float min, float max, int bits) {
+		if (bits < 1 || bits > 21) {
+			throw new IllegalArgumentException("Bits must be in range [1, 21]");
+		}
+
+		int bytes = (bits * 3 + 7) >> 3;
+		long mask = (1L << bits) - 1L;
+
+		return new StreamCodec<>() {
+			@Override
+			public Vector3f decode(ByteBuf buf) {
+				long packed = BitPacking.readBytes(buf, bytes);
+
+				return new Vector3f(
+					BitPacking.dequantize((int) ((packed >>> (bits * 2)) & mask), min, max, bits),
+					BitPacking.dequantize((int) ((packed >>> bits) & mask), min, max, bits),
+					BitPacking.dequantize((int) (packed & mask), min, max, bits)
+				);
+			}
+
+			@Override
+			public void encode(ByteBuf buf, Vector3f v) {
+				long packed = ((long) BitPacking.quantize(v.x, min, max, bits) << (bits * 2))
+					| ((long) BitPacking.quantize(v.y, min, max, bits) << bits)
+					| BitPacking.quantize(v.z, min, max, bits);
+
+				BitPacking.writeBytes(buf, packed, bytes);
+			}
+		};
+	}
+
+	/**
+	 * Unit quaternion as the index of its largest component plus the other three quantized to <code>bits</code> each - the largest one is recomputed from unit length.
+	 * Uses <code>ceil((2 + bits * 3) / 8)</code> bytes. Input is expected to be normalized
+	 */
+	static StreamCodec<ByteBuf, Quaternionf> smallestThreeQuaternion(int bits) {
+		if (bits < 2 || bits > 20) {
+			throw new IllegalArgumentException("Bits must be in range [2, 20]");
+		}
+
+		int bytes = (2 + bits * 3 + 7) >> 3;
+		long mask = (1L << bits) - 1L;
+		float range = (float) (1D / Math.sqrt(2D));
+
+		return new StreamCodec<>() {
+			@Override
+			public Quaternionf decode(ByteBuf buf) {
+				long packed = BitPacking.readBytes(buf, bytes);
+				int largest = (int) (packed >>> (bits * 3)) & 3;
+				float a = BitPacking.dequantize((int) ((packed >>> (bits * 2)) & mask), -range, range, bits);
+				float b = BitPacking.dequantize((int) ((packed >>> bits) & mask), -range, range, bits);
+				float c = BitPacking.dequantize((int) (packed & mask), -range, range, bits);
+				float d = (float) Math.sqrt(Math.max(0F, 1F - a * a - b * b - c * c));
+
+				return switch (largest) {
+					case 0 -> new Quaternionf(d, a, b, c);
+					case 1 -> new Quaternionf(a, d, b, c);
+					case 2 -> new Quaternionf(a, b, d, c);
+					default -> new Quaternionf(a, b, c, d);
+				};
+			}
+
+			@Override
+			public void encode(ByteBuf buf, Quaternionf q) {
+				float ax = Math.abs(q.x);
+				float ay = Math.abs(q.y);
+				float az = Math.abs(q.z);
+				float aw = Math.abs(q.w);
+				int largest = 0;
+				float max = ax;
+
+				if (ay > max) {
+					largest = 1;
+					max = ay;
+				}
+
+				if (az > max) {
+					largest = 2;
+					max = az;
+				}
+
+				if (aw > max) {
+					largest = 3;
+				}
+
+				// q and -q are the same rotation, flip so that the dropped component is positive
+				float sign = switch (largest) {
+					case 0 -> q.x;
+					case 1 -> q.y;
+					case 2 -> q.z;
+					default -> q.w;
+				} < 0F ? -1F : 1F;
+
+				float a, b, c;
+
+				switch (largest) {
+					case 0 -> {
+						a = q.y;
+						b = q.z;
+						c = q.w;
+					}
+					case 1 -> {
+						a = q.x;
+						b = q.z;
+						c = q.w;
+					}
+					case 2 -> {
+						a = q.x;
+						b = q.y;
+						c = q.w;
+					}
+					default -> {
+						a = q.x;
+						b = q.y;
+						c = q.z;
+					}
+				}
+
+				long packed = ((long) largest << (bits * 3))
+					| ((long) BitPacking.quantize(a * sign, -range, range, bits) << (bits * 2))
+					| ((long) BitPacking.quantize(b * sign, -range, range, bits) << bits)
+					| BitPacking.quantize(c * sign, -range, range, bits);
+
+				BitPacking.writeBytes(buf, packed, bytes);
+			}
+		};
+	}
+
+	/**
+	 * Unit vector folded onto an octahedron and stored as two <code>bits</code> wide coordinates in <code>ceil(bits * 2 / 8)</code> bytes. Decoded vectors are normalized
+	 */
+	static StreamCodec<ByteBuf, Vector3f> octahedralNormal(int bits) {
+		if (bits < 2 || bits > 24) {
+			throw new IllegalArgumentException("Bits must be in range [2, 24]");
+		}
+
+		int bytes = (bits * 2 + 7) >> 3;
+		long mask = (1L << bits) - 1L;
+
+		return new StreamCodec<>() {
+			@Override
+			public Vector3f decode(ByteBuf buf) {
+				long packed = BitPacking.readBytes(buf, bytes);
+				float x = BitPacking.dequantize((int) ((packed >>> bits) & mask), -1F, 1F, bits);
+				float y = BitPacking.dequantize((int) (packed & mask), -1F, 1F, bits);
+				float z = 1F - Math.abs(x) - Math.abs(y);
+				float t = Math.max(-z, 0F);
+				x += x >= 0F ? -t : t;
+				y += y >= 0F ? -t : t;
+				return new Vector3f(x, y, z).normalize();
+			}
+
+			@Override
+			public void encode(ByteBuf buf, Vector3f v) {
+				float l = Math.abs(v.x) + Math.abs(v.y) + Math.abs(v.z);
+				float x = l == 0F ? 0F : v.x / l;
+				float y = l == 0F ? 0F : v.y / l;
+
+				if (v.z < 0F) {
+					float ox = x;
+					x = (1F - Math.abs(y)) * (ox >= 0F ? 1F : -1F);
+					y = (1F - Math.abs(ox)) * (y >= 0F ? 1F : -1F);
+				}
+
+				long packed = ((long) BitPacking.quantize(x, -1F, 1F, bits) << bits) | BitPacking.quantize(y, -1F, 1F, bits);
+				BitPacking.writeBytes(buf, packed, bytes);
+			}
+		};
+	}
 }
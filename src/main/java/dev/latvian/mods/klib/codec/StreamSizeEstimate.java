@@ -0,0 +1,30 @@
+package dev.latvian.mods.klib.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Running average of bytes written per element, used to reserve the whole payload with a single {@link ByteBuf#ensureWritable(int)} before encoding a collection
+ */
+final class StreamSizeEstimate {
+	private volatile int bytesPerElement;
+
+	StreamSizeEstimate(int initialBytesPerElement) {
+		this.bytesPerElement = Math.max(1, initialBytesPerElement);
+	}
+
+	int estimate(int count) {
+		return (int) Math.min(Integer.MAX_VALUE - 16L, (long) count * bytesPerElement);
+	}
+
+	int reserve(ByteBuf buf, int count) {
+		buf.ensureWritable(5 + estimate(count));
+		return buf.writerIndex();
+	}
+
+	void update(ByteBuf buf, int start, int count) {
+		if (count > 0) {
+			int written = (buf.writerIndex() - start + count - 1) / count;
+			bytesPerElement = (bytesPerElement + Math.max(1, written) + 1) >> 1;
+		}
+	}
+}
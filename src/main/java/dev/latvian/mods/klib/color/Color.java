@@ -96,53 +96,7 @@ public record Color(int argb) implements Gradient {
 	public static final DataType<Color> DATA_TYPE = DataType.of(CODEC, STREAM_CODEC, Color.class);
 
 	public static Color hsb(float hue, float saturation, float brightness, int alpha) {
-		if (saturation <= 0F) {
-			int c = (int) (brightness * 255F + 0.5F);
-			return of(alpha, c, c, c);
-		}
-
-		int r = 0;
-		int g = 0;
-		int b = 0;
-		float h = (hue - (float) Math.floor(hue)) * 6F;
-		float f = h - (float) Math.floor(h);
-		float p = brightness * (1F - saturation);
-		float q = brightness * (1F - saturation * f);
-		float t = brightness * (1F - saturation * (1F - f));
-
-		switch ((int) h) {
-			case 0:
-				r = (int) (brightness * 255F + 0.5F);
-				g = (int) (t * 255F + 0.5F);
-				b = (int) (p * 255F + 0.5F);
-				break;
-			case 1:
-				r = (int) (q * 255F + 0.5F);
-				g = (int) (brightness * 255F + 0.5F);
-				b = (int) (p * 255F + 0.5F);
-				break;
-			case 2:
-				r = (int) (p * 255F + 0.5F);
-				g = (int) (brightness * 255F + 0.5F);
-				b = (int) (t * 255F + 0.5F);
-				break;
-			case 3:
-				r = (int) (p * 255F + 0.5F);
-				g = (int) (q * 255F + 0.5F);
-				b = (int) (brightness * 255F + 0.5F);
-				break;
-			case 4:
-				r = (int) (t * 255F + 0.5F);
-				g = (int) (p * 255F + 0.5F);
-				b = (int) (brightness * 255F + 0.5F);
-				break;
-			case 5:
-				r = (int) (brightness * 255F + 0.5F);
-				g = (int) (p * 255F + 0.5F);
-				b = (int) (q * 255F + 0.5F);
-		}
-
-		return of(alpha, r, g, b);
+		return of(ColorMath.hsbToARGB(hue, saturation, brightness, alpha));
 	}
 
 	public int rgb() {
@@ -254,6 +208,11 @@ public record Color(int argb) implements Gradient {
 		return this;
 	}
 
+	@Override
+	public int sampleARGB(float delta) {
+		return argb;
+	}
+
 	public boolean isTransparent() {
 		return alpha() == 0;
 	}
@@ -0,0 +1,79 @@
+package dev.latvian.mods.klib.color;
+
+import com.mojang.serialization.Codec;
+import dev.latvian.mods.klib.data.DataType;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.util.StringRepresentable;
+
+/**
+ * Color space gradients blend in. Alpha is always blended linearly
+ */
+public enum ColorInterpolation implements StringRepresentable {
+	/**
+	 * Raw sRGB channel values, cheapest but midpoints come out dark and muddy
+	 */
+	SRGB("srgb"),
+
+	/**
+	 * Linear light, physically correct mixing of light
+	 */
+	LINEAR("linear"),
+
+	/**
+	 * OKLab, perceptually even steps in lightness and hue
+	 */
+	OKLAB("oklab");
+
+	public static final ColorInterpolation[] VALUES = values();
+	public static final Codec<ColorInterpolation> CODEC = StringRepresentable.fromEnum(() -> VALUES);
+	public static final StreamCodec<ByteBuf, ColorInterpolation> STREAM_CODEC = ByteBufCodecs.VAR_INT.map(i -> VALUES[i], ColorInterpolation::ordinal);
+	public static final DataType<ColorInterpolation> DATA_TYPE = DataType.of(CODEC, STREAM_CODEC, ColorInterpolation.class);
+
+	private final String name;
+
+	ColorInterpolation(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public String getSerializedName() {
+		return name;
+	}
+
+	public int lerpARGB(int a, int b, float delta) {
+		return switch (this) {
+			case SRGB -> ColorMath.lerpARGB(a, b, delta);
+			case LINEAR -> ColorMath.lerpARGBLinear(a, b, delta);
+			case OKLAB -> ColorMath.lerpARGBOKLab(a, b, delta);
+		};
+	}
+
+	/**
+	 * Converts a color into the three components this space blends, so they can be computed once per gradient stop
+	 */
+	public void toComponents(int argb, float[] out, int offset) {
+		switch (this) {
+			case SRGB -> {
+				out[offset] = ColorMath.red(argb);
+				out[offset + 1] = ColorMath.green(argb);
+				out[offset + 2] = ColorMath.blue(argb);
+			}
+			case LINEAR -> {
+				out[offset] = ColorMath.toLinear(ColorMath.red(argb));
+				out[offset + 1] = ColorMath.toLinear(ColorMath.green(argb));
+				out[offset + 2] = ColorMath.toLinear(ColorMath.blue(argb));
+			}
+			case OKLAB -> ColorMath.argbToOKLab(argb, out, offset);
+		}
+	}
+
+	public int fromComponents(int alpha, float c0, float c1, float c2) {
+		return switch (this) {
+			case SRGB -> ColorMath.argb(alpha, (int) c0, (int) c1, (int) c2);
+			case LINEAR -> ColorMath.argb(alpha, ColorMath.toSRGB(c0), ColorMath.toSRGB(c1), ColorMath.toSRGB(c2));
+			case OKLAB -> ColorMath.okLabToARGB(alpha, c0, c1, c2);
+		};
+	}
+}
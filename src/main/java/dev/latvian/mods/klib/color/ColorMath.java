@@ -0,0 +1,332 @@
+package dev.latvian.mods.klib.color;
+
+/**
+ * Allocation free color operations on packed ARGB ints, same layout as {@link Color#argb()}
+ */
+public interface ColorMath {
+	/**
+	 * sRGB channel value to linear light, indexed by the 8 bit channel
+	 */
+	float[] SRGB_TO_LINEAR = createSRGBToLinear();
+
+	/**
+	 * Linear light to 8 bit sRGB channel value, indexed by <code>linear * LINEAR_STEPS</code>
+	 */
+	byte[] LINEAR_TO_SRGB = createLinearToSRGB();
+
+	int LINEAR_STEPS = 4095;
+
+	private static float[] createSRGBToLinear() {
+		var table = new float[256];
+
+		for (int i = 0; i < 256; i++) {
+			double c = i / 255D;
+			table[i] = (float) (c <= 0.04045D ? c / 12.92D : Math.pow((c + 0.055D) / 1.055D, 2.4D));
+		}
+
+		return table;
+	}
+
+	private static byte[] createLinearToSRGB() {
+		var table = new byte[LINEAR_STEPS + 1];
+
+		for (int i = 0; i <= LINEAR_STEPS; i++) {
+			double c = i / (double) LINEAR_STEPS;
+			double s = c <= 0.0031308D ? c * 12.92D : 1.055D * Math.pow(c, 1D / 2.4D) - 0.055D;
+			table[i] = (byte) Math.round(s * 255D);
+		}
+
+		return table;
+	}
+
+	static int alpha(int argb) {
+		return (argb >>> 24) & 0xFF;
+	}
+
+	static int red(int argb) {
+		return (argb >> 16) & 0xFF;
+	}
+
+	static int green(int argb) {
+		return (argb >> 8) & 0xFF;
+	}
+
+	static int blue(int argb) {
+		return argb & 0xFF;
+	}
+
+	static int argb(int a, int r, int g, int b) {
+		return ((a & 0xFF) << 24) | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+	}
+
+	static int argb(float a, float r, float g, float b) {
+		return argb((int) (a * 255F), (int) (r * 255F), (int) (g * 255F), (int) (b * 255F));
+	}
+
+	static int withAlpha(int argb, int alpha) {
+		return (argb & 0xFFFFFF) | ((alpha & 0xFF) << 24);
+	}
+
+	static int withAlpha(int argb, float alpha) {
+		return withAlpha(argb, (int) (alpha * 255F));
+	}
+
+	static int lerpChannel(float delta, int a, int b) {
+		// Same rounding as Mth.lerpInt
+		return a + (int) Math.floor(delta * (float) (b - a));
+	}
+
+	/**
+	 * Same result as {@link Color#lerp(float, Color)}
+	 */
+	static int lerpARGB(int a, int b, float delta) {
+		if (delta <= 0F || a == b) {
+			return a;
+		} else if (delta >= 1F) {
+			return b;
+		}
+
+		return argb(
+			lerpChannel(delta, alpha(a), alpha(b)),
+			lerpChannel(delta, red(a), red(b)),
+			lerpChannel(delta, green(a), green(b)),
+			lerpChannel(delta, blue(a), blue(b))
+		);
+	}
+
+	/**
+	 * Fixed point blend, <code>weight</code> of <code>b</code> is out of 256. Two channels per multiply, cheaper than {@link #lerpARGB(int, int, float)} but rounds down slightly differently
+	 */
+	static int blendARGB(int a, int b, int weight) {
+		int iw = 256 - weight;
+		int rb = (((a & 0xFF00FF) * iw + (b & 0xFF00FF) * weight) >>> 8) & 0xFF00FF;
+		int ag = ((a >>> 8) & 0xFF00FF) * iw + ((b >>> 8) & 0xFF00FF) * weight;
+		return (ag & 0xFF00FF00) | rb;
+	}
+
+	/**
+	 * Blends in linear light instead of sRGB, so mixing saturated colors doesn't darken the middle. Alpha is blended linearly
+	 */
+	static int lerpARGBLinear(int a, int b, float delta) {
+		if (delta <= 0F || a == b) {
+			return a;
+		} else if (delta >= 1F) {
+			return b;
+		}
+
+		var lut = SRGB_TO_LINEAR;
+		return argb(
+			lerpChannel(delta, alpha(a), alpha(b)),
+			toSRGB(lut[red(a)] + (lut[red(b)] - lut[red(a)]) * delta),
+			toSRGB(lut[green(a)] + (lut[green(b)] - lut[green(a)]) * delta),
+			toSRGB(lut[blue(a)] + (lut[blue(b)] - lut[blue(a)]) * delta)
+		);
+	}
+
+	/**
+	 * Blends in OKLab, so lightness and hue change evenly. Alpha is blended linearly
+	 */
+	static int lerpARGBOKLab(int a, int b, float delta) {
+		if (delta <= 0F || a == b) {
+			return a;
+		} else if (delta >= 1F) {
+			return b;
+		}
+
+		// OKLab is a linear transform of the cube rooted LMS values, so blending those gives the same result without going through Lab
+		float l = lerpCbrt(0.4122214708F, 0.5363325363F, 0.0514459929F, a, b, delta);
+		float m = lerpCbrt(0.2119034982F, 0.6806995451F, 0.1073969566F, a, b, delta);
+		float s = lerpCbrt(0.0883024619F, 0.2817188376F, 0.6299787005F, a, b, delta);
+		return lmsToARGB(lerpChannel(delta, alpha(a), alpha(b)), l, m, s);
+	}
+
+	private static float lerpCbrt(float wr, float wg, float wb, int a, int b, float delta) {
+		float ca = (float) Math.cbrt(wr * toLinear(red(a)) + wg * toLinear(green(a)) + wb * toLinear(blue(a)));
+		float cb = (float) Math.cbrt(wr * toLinear(red(b)) + wg * toLinear(green(b)) + wb * toLinear(blue(b)));
+		return ca + (cb - ca) * delta;
+	}
+
+	/**
+	 * Writes OKLab lightness, a and b of the color into <code>out</code>
+	 */
+	static void argbToOKLab(int argb, float[] out, int offset) {
+		float r = toLinear(red(argb));
+		float g = toLinear(green(argb));
+		float b = toLinear(blue(argb));
+		float l = (float) Math.cbrt(0.4122214708F * r + 0.5363325363F * g + 0.0514459929F * b);
+		float m = (float) Math.cbrt(0.2119034982F * r + 0.6806995451F * g + 0.1073969566F * b);
+		float s = (float) Math.cbrt(0.0883024619F * r + 0.2817188376F * g + 0.6299787005F * b);
+		out[offset] = 0.2104542553F * l + 0.7936177850F * m - 0.0040720468F * s;
+		out[offset + 1] = 1.9779984951F * l - 2.4285922050F * m + 0.4505937099F * s;
+		out[offset + 2] = 0.0259040371F * l + 0.7827717662F * m - 0.8086757660F * s;
+	}
+
+	/**
+	 * Only multiplications and table lookups, no <code>pow</code>. Out of gamut colors are clamped per channel
+	 */
+	static int okLabToARGB(int alpha, float lightness, float a, float b) {
+		float l = lightness + 0.3963377774F * a + 0.2158037573F * b;
+		float m = lightness - 0.1055613458F * a - 0.0638541728F * b;
+		float s = lightness - 0.0894841775F * a - 1.2914855480F * b;
+		return lmsToARGB(alpha, l, m, s);
+	}
+
+	private static int lmsToARGB(int alpha, float l, float m, float s) {
+		l = l * l * l;
+		m = m * m * m;
+		s = s * s * s;
+		return argb(
+			alpha,
+			toSRGB(4.0767416621F * l - 3.3077115913F * m + 0.2309699292F * s),
+			toSRGB(-1.2684380046F * l + 2.6097574011F * m - 0.3413193965F * s),
+			toSRGB(-0.0041960863F * l - 0.7034186147F * m + 1.7076147010F * s)
+		);
+	}
+
+	static float toLinear(int channel) {
+		return SRGB_TO_LINEAR[channel & 0xFF];
+	}
+
+	/**
+	 * @return 8 bit sRGB channel value of a linear light value, clamped to 0 - 1
+	 */
+	static int toSRGB(float linear) {
+		if (!(linear > 0F)) {
+			return 0;
+		} else if (linear >= 1F) {
+			return 255;
+		}
+
+		return LINEAR_TO_SRGB[(int) (linear * LINEAR_STEPS + 0.5F)] & 0xFF;
+	}
+
+	private static int mulChannel(int a, int b) {
+		// Rounded a * b / 255
+		int t = a * b + 128;
+		return (t + (t >> 8)) >> 8;
+	}
+
+	/**
+	 * Multiplies every channel, e.g. to tint a color
+	 */
+	static int mulARGB(int a, int b) {
+		return argb(
+			mulChannel(alpha(a), alpha(b)),
+			mulChannel(red(a), red(b)),
+			mulChannel(green(a), green(b)),
+			mulChannel(blue(a), blue(b))
+		);
+	}
+
+	static int premultiply(int argb) {
+		int a = alpha(argb);
+
+		if (a == 255) {
+			return argb;
+		} else if (a == 0) {
+			return 0;
+		}
+
+		return argb(a, mulChannel(red(argb), a), mulChannel(green(argb), a), mulChannel(blue(argb), a));
+	}
+
+	static int unpremultiply(int argb) {
+		int a = alpha(argb);
+
+		if (a == 255 || a == 0) {
+			return argb;
+		}
+
+		int h = a >> 1;
+		return argb(
+			a,
+			Math.min(255, (red(argb) * 255 + h) / a),
+			Math.min(255, (green(argb) * 255 + h) / a),
+			Math.min(255, (blue(argb) * 255 + h) / a)
+		);
+	}
+
+	/**
+	 * Same result as {@link Color#fadeOut(float, float, float)}
+	 */
+	static int fadeOut(int argb, float time, float maxTime, float fadeOut) {
+		if (maxTime < fadeOut) {
+			return argb;
+		} else if (time >= maxTime) {
+			return argb & 0xFFFFFF;
+		} else if (time >= maxTime - fadeOut) {
+			return withAlpha(argb, ((maxTime - time) / fadeOut) * (alpha(argb) / 255F));
+		} else {
+			return argb;
+		}
+	}
+
+	static int hsbToARGB(float hue, float saturation, float brightness, int alpha) {
+		if (saturation <= 0F) {
+			int c = (int) (brightness * 255F + 0.5F);
+			return argb(alpha, c, c, c);
+		}
+
+		float h = (hue - (float) Math.floor(hue)) * 6F;
+		float f = h - (float) Math.floor(h);
+		int v = (int) (brightness * 255F + 0.5F);
+		int p = (int) (brightness * (1F - saturation) * 255F + 0.5F);
+		int q = (int) (brightness * (1F - saturation * f) * 255F + 0.5F);
+		int t = (int) (brightness * (1F - saturation * (1F - f)) * 255F + 0.5F);
+
+		return switch ((int) h) {
+			case 0 -> argb(alpha, v, t, p);
+			case 1 -> argb(alpha, q, v, p);
+			case 2 -> argb(alpha, p, v, t);
+			case 3 -> argb(alpha, p, q, v);
+			case 4 -> argb(alpha, t, p, v);
+			case 5 -> argb(alpha, v, p, q);
+			default -> argb(alpha, 0, 0, 0);
+		};
+	}
+
+	/**
+	 * Writes hue, saturation and brightness into as many of them as <code>hsb</code> fits, same as {@link Color#toHSB(float[])}
+	 */
+	static float[] argbToHSB(int argb, float[] hsb) {
+		int r = red(argb);
+		int g = green(argb);
+		int b = blue(argb);
+		int cmax = Math.max(Math.max(r, g), b);
+		int cmin = Math.min(Math.min(r, g), b);
+		float saturation = cmax == 0 ? 0F : (float) (cmax - cmin) / (float) cmax;
+		float hue = 0F;
+
+		if (saturation != 0F) {
+			float redc = (float) (cmax - r) / (float) (cmax - cmin);
+			float greenc = (float) (cmax - g) / (float) (cmax - cmin);
+			float bluec = (float) (cmax - b) / (float) (cmax - cmin);
+
+			if (r == cmax) {
+				hue = bluec - greenc;
+			} else if (g == cmax) {
+				hue = 2F + redc - bluec;
+			} else {
+				hue = 4F + greenc - redc;
+			}
+
+			hue /= 6F;
+
+			if (hue < 0F) {
+				++hue;
+			}
+		}
+
+		hsb[0] = hue;
+
+		if (hsb.length >= 2) {
+			hsb[1] = saturation;
+		}
+
+		if (hsb.length >= 3) {
+			hsb[2] = (float) cmax / 255F;
+		}
+
+		return hsb;
+	}
+}
@@ -16,7 +16,8 @@ import java.util.function.Function;
 
 public final class CompoundGradient implements Gradient {
 	public static final Codec<CompoundGradient> DIRECT_CODEC = RecordCodecBuilder.create(instance -> instance.group(
-		PositionedColor.CODEC.listOf().fieldOf("colors").forGetter(c -> c.sortedList)
+		PositionedColor.CODEC.listOf().fieldOf("colors").forGetter(c -> c.sortedList),
+		ColorInterpolation.CODEC.optionalFieldOf("interpolation", ColorInterpolation.SRGB).forGetter(c -> c.interpolation)
 	).apply(instance, CompoundGradient::new));
 
 	public static CompoundGradient ofColors(List<Color> colors) {
@@ -29,18 +30,40 @@ public final class CompoundGradient implements Gradient {
 		return new CompoundGradient(list);
 	}
 
-	public static final Codec<CompoundGradient> CODEC = Codec.either(DIRECT_CODEC, Color.CODEC.listOf()).xmap(e -> e.map(Function.identity(), CompoundGradient::ofColors), g -> g.isSimple() ? Either.right(g.getRawColors()) : Either.left(g));
-	public static final StreamCodec<ByteBuf, CompoundGradient> STREAM_CODEC = PositionedColor.STREAM_CODEC.apply(ByteBufCodecs.list()).map(CompoundGradient::new, c -> c.sortedList);
+	public static final Codec<CompoundGradient> CODEC = Codec.either(DIRECT_CODEC, Color.CODEC.listOf()).xmap(e -> e.map(Function.identity(), CompoundGradient::ofColors), g -> g.isSimple() && g.interpolation == ColorInterpolation.SRGB ? Either.right(g.getRawColors()) : Either.left(g));
+	public static final StreamCodec<ByteBuf, CompoundGradient> STREAM_CODEC = StreamCodec.composite(
+		PositionedColor.STREAM_CODEC.apply(ByteBufCodecs.list()), c -> c.sortedList,
+		ColorInterpolation.STREAM_CODEC, c -> c.interpolation,
+		CompoundGradient::new
+	);
 
 	private final PositionedColor[] sorted;
 	private final List<PositionedColor> sortedList;
+	private final float[] positions;
+	private final int[] colors;
+	private final ColorInterpolation interpolation;
+	// Stop colors converted into the interpolation color space once, 3 per stop
+	private final float[] components;
 	private final float leftMostPosition;
 	private final float rightMostPosition;
 
-	private CompoundGradient(PositionedColor[] sorted) {
+	private CompoundGradient(PositionedColor[] sorted, ColorInterpolation interpolation) {
 		this.sorted = sorted;
+		this.interpolation = interpolation;
 		Arrays.sort(this.sorted);
 		this.sortedList = Arrays.asList(this.sorted);
+		this.positions = new float[sorted.length];
+		this.colors = new int[sorted.length];
+		this.components = interpolation == ColorInterpolation.SRGB ? null : new float[sorted.length * 3];
+
+		for (int i = 0; i < sorted.length; i++) {
+			positions[i] = sorted[i].position();
+			colors[i] = sorted[i].color().argb();
+
+			if (components != null) {
+				interpolation.toComponents(colors[i], components, i * 3);
+			}
+		}
 
 		float leftMostPosition = 1F;
 		float rightMostPosition = 0F;
@@ -59,8 +82,20 @@ public final class CompoundGradient implements Gradient {
 		this.rightMostPosition = rightMostPosition;
 	}
 
+	public CompoundGradient(List<PositionedColor> colors, ColorInterpolation interpolation) {
+		this(colors.toArray(PositionedColor.EMPTY_ARRAY), interpolation);
+	}
+
 	public CompoundGradient(List<PositionedColor> colors) {
-		this(colors.toArray(PositionedColor.EMPTY_ARRAY));
+		this(colors, ColorInterpolation.SRGB);
+	}
+
+	public ColorInterpolation interpolation() {
+		return interpolation;
+	}
+
+	public CompoundGradient withInterpolation(ColorInterpolation interpolation) {
+		return this.interpolation == interpolation ? this : new CompoundGradient(sortedList, interpolation);
 	}
 
 	@Override
@@ -73,28 +108,64 @@ public final class CompoundGradient implements Gradient {
 			return sorted[sorted.length - 1].color();
 		}
 
-		var left = sorted[0];
-		var right = sorted[sorted.length - 1];
+		return Color.of(sampleARGB(delta));
+	}
 
-		for (int i = sorted.length - 1; i >= 0; i--) {
-			var c = sorted[i];
+	@Override
+	public int sampleARGB(float delta) {
+		int n = colors.length;
+
+		if (n == 0) {
+			return 0;
+		} else if (delta <= leftMostPosition || n == 1) {
+			return colors[0];
+		} else if (delta >= rightMostPosition) {
+			return colors[n - 1];
+		}
 
-			if (c.position() <= delta) {
-				left = c;
-				right = i < sorted.length - 1 ? sorted[i + 1] : c;
-				break;
+		// Last stop at or before delta, the first one is always before it here
+		int lo = 0;
+		int hi = n - 1;
+
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+
+			if (positions[mid] <= delta) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
 			}
 		}
 
-		return left.interpolate(KMath.map(delta, left.position(), right.position(), 0F, 1F), right);
+		int right = lo < n - 1 ? lo + 1 : lo;
+		float t = KMath.map(delta, positions[lo], positions[right], 0F, 1F);
+		float e = sorted[lo].easing().ease(t);
+
+		if (components == null) {
+			return ColorMath.lerpARGB(colors[lo], colors[right], e);
+		} else if (e <= 0F) {
+			return colors[lo];
+		} else if (e >= 1F) {
+			return colors[right];
+		}
+
+		int i = lo * 3;
+		int j = right * 3;
+		var c = components;
+		return interpolation.fromComponents(
+			ColorMath.lerpChannel(e, ColorMath.alpha(colors[lo]), ColorMath.alpha(colors[right])),
+			c[i] + (c[j] - c[i]) * e,
+			c[i + 1] + (c[j + 1] - c[i + 1]) * e,
+			c[i + 2] + (c[j + 2] - c[i + 2]) * e
+		);
 	}
 
 	@Override
 	public Gradient optimize() {
 		if (sorted.length == 0) {
 			return Color.TRANSPARENT;
-		} else if (sorted.length == 2 && sorted[0].easing() == Easing.LINEAR) {
-			return new LinearPairGradient(sorted[0].color(), sorted[sorted.length - 1].color()).optimize();
+		} else if (sorted.length == 2 && sorted[0].easing() == Easing.LINEAR && interpolation == ColorInterpolation.SRGB) {
+			return new LinearPairGradient(sorted[0].color(), sorted[sorted.length - 1].color(), interpolation).optimize();
 		} else if (sorted.length == 1) {
 			return sorted[0].color().optimize();
 		} else {
@@ -131,17 +202,17 @@ public final class CompoundGradient implements Gradient {
 
 	@Override
 	public boolean equals(Object o) {
-		return o == this || (o instanceof CompoundGradient c && sortedList.equals(c.sortedList));
+		return o == this || (o instanceof CompoundGradient c && interpolation == c.interpolation && sortedList.equals(c.sortedList));
 	}
 
 	@Override
 	public int hashCode() {
-		return sortedList.hashCode();
+		return sortedList.hashCode() * 31 + interpolation.hashCode();
 	}
 
 	@Override
 	public String toString() {
-		return "CompoundGradient" + sortedList;
+		return interpolation == ColorInterpolation.SRGB ? "CompoundGradient" + sortedList : "CompoundGradient" + sortedList + "/" + interpolation.getSerializedName();
 	}
 
 }
@@ -16,7 +16,7 @@ public interface Gradient {
 	Codec<Gradient> CODEC = Codec.lazyInitialized(() -> Codec.either(
 		Codec.either(Color.CODEC, GradientReference.CODEC).xmap(e -> e.map(Function.identity(), Function.identity()), g -> g instanceof GradientReference r ? Either.right(r) : Either.left((Color) g)),
 		Codec.either(CompoundGradient.CODEC, LinearPairGradient.CODEC).xmap(e -> e.map(Function.identity(), Function.identity()), g -> g instanceof LinearPairGradient r ? Either.right(r) : Either.left((CompoundGradient) g))
-	).xmap(e -> e.map(Function.identity(), Function.identity()), g -> switch (g) {
+	).xmap(e -> e.map(Function.identity(), Function.identity()), g -> switch (g instanceof GradientLUT l ? l.source() : g) {
 		case Color v -> Either.left(v);
 		case GradientReference v -> Either.left(v);
 		case CompoundGradient v -> Either.right(v);
@@ -27,7 +27,7 @@ public interface Gradient {
 	StreamCodec<ByteBuf, Gradient> STREAM_CODEC = Lazy.streamCodec(() -> ByteBufCodecs.either(
 		ByteBufCodecs.either(Color.STREAM_CODEC, GradientReference.STREAM_CODEC).map(e -> e.map(Function.identity(), Function.identity()), g -> g instanceof GradientReference r ? Either.right(r) : Either.left((Color) g)),
 		ByteBufCodecs.either(CompoundGradient.STREAM_CODEC, LinearPairGradient.STREAM_CODEC).map(e -> e.map(Function.identity(), Function.identity()), g -> g instanceof LinearPairGradient r ? Either.right(r) : Either.left((CompoundGradient) g))
-	).map(e -> e.map(Function.identity(), Function.identity()), g -> switch (g) {
+	).map(e -> e.map(Function.identity(), Function.identity()), g -> switch (g instanceof GradientLUT l ? l.source() : g) {
 		case Color v -> Either.left(v);
 		case GradientReference v -> Either.left(v);
 		case CompoundGradient v -> Either.right(v);
@@ -39,6 +39,25 @@ public interface Gradient {
 
 	Color get(float delta);
 
+	/**
+	 * Same as <code>get(delta).argb()</code>, overridden where it can be done without allocating
+	 */
+	default int sampleARGB(float delta) {
+		return get(delta).argb();
+	}
+
+	/**
+	 * @param resolution number of table entries, at least 2
+	 * @param interpolate whether to blend between the two nearest entries instead of picking the nearest one
+	 */
+	default GradientLUT bake(int resolution, boolean interpolate) {
+		return GradientLUT.bake(this, resolution, interpolate);
+	}
+
+	default GradientLUT bake() {
+		return bake(GradientLUT.DEFAULT_RESOLUTION, true);
+	}
+
 	default Color sample(RandomSource random) {
 		return get(random.nextFloat());
 	}
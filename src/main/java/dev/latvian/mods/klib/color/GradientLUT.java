@@ -0,0 +1,113 @@
+package dev.latvian.mods.klib.color;
+
+import java.util.List;
+
+/**
+ * A gradient sampled once into a table of packed ARGB colors. {@link #sampleARGB(float)} is a table lookup, optionally blending the two nearest entries, with no allocation or searching.
+ * Serializes as the gradient it was baked from. Baking a {@link GradientReference} keeps the reference for serialization, but the table is a snapshot of what it resolved to and doesn't follow later reloads of {@link GradientReference#MAP}
+ */
+public final class GradientLUT implements Gradient {
+	public static final int DEFAULT_RESOLUTION = 256;
+
+	public static GradientLUT bake(Gradient gradient, int resolution, boolean interpolate) {
+		if (gradient instanceof GradientLUT lut && lut.table.length == resolution && lut.interpolate == interpolate) {
+			return lut;
+		}
+
+		if (resolution < 2) {
+			throw new IllegalArgumentException("Resolution must be at least 2");
+		}
+
+		var source = gradient instanceof GradientLUT lut ? lut.source : gradient;
+		var optimized = source.optimize();
+		var table = new int[resolution];
+
+		for (int i = 0; i < resolution; i++) {
+			table[i] = optimized.get(i / (float) (resolution - 1)).argb();
+		}
+
+		return new GradientLUT(source, table, interpolate);
+	}
+
+	public static GradientLUT bake(Gradient gradient) {
+		return bake(gradient, DEFAULT_RESOLUTION, true);
+	}
+
+	private final Gradient source;
+	private final int[] table;
+	private final boolean interpolate;
+	private final float scale;
+
+	private GradientLUT(Gradient source, int[] table, boolean interpolate) {
+		this.source = source;
+		this.table = table;
+		this.interpolate = interpolate;
+		this.scale = table.length - 1;
+	}
+
+	public Gradient source() {
+		return source;
+	}
+
+	public int resolution() {
+		return table.length;
+	}
+
+	public boolean interpolate() {
+		return interpolate;
+	}
+
+	@Override
+	public int sampleARGB(float delta) {
+		if (!(delta > 0F)) {
+			return table[0];
+		} else if (delta >= 1F) {
+			return table[table.length - 1];
+		}
+
+		float f = delta * scale;
+
+		if (!interpolate) {
+			return table[(int) (f + 0.5F)];
+		}
+
+		int i = (int) f;
+		int w = (int) ((f - i) * 256F);
+
+		if (w == 0) {
+			return table[i];
+		}
+
+		return ColorMath.blendARGB(table[i], table[i + 1], w);
+	}
+
+	@Override
+	public Color get(float delta) {
+		return Color.of(sampleARGB(delta));
+	}
+
+	@Override
+	public GradientLUT bake(int resolution, boolean interpolate) {
+		return bake(this, resolution, interpolate);
+	}
+
+	@Override
+	public List<PositionedColor> getPositionedColors() {
+		return source.getPositionedColors();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || o instanceof GradientLUT l && table.length == l.table.length && interpolate == l.interpolate && source.equals(l.source);
+	}
+
+	@Override
+	public int hashCode() {
+		return source.hashCode() * 31 + table.length;
+	}
+
+	@Override
+	public String toString() {
+		return "GradientLUT[" + source + ", " + table.length + (interpolate ? ", interpolated]" : "]");
+	}
+}
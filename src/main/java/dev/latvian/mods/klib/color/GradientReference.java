@@ -19,6 +19,11 @@ public record GradientReference(ResourceLocation id) implements Gradient {
 		return optimize().get(delta);
 	}
 
+	@Override
+	public int sampleARGB(float delta) {
+		return optimize().sampleARGB(delta);
+	}
+
 	@Override
 	public Gradient optimize() {
 		return MAP.getOrDefault(id, Color.TRANSPARENT).optimize();
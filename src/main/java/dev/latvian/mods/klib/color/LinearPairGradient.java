@@ -6,19 +6,59 @@ import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 
 import java.util.List;
+import java.util.Objects;
 
-public record LinearPairGradient(Color start, Color end) implements Gradient {
+public final class LinearPairGradient implements Gradient {
 	public static final Codec<LinearPairGradient> CODEC = RecordCodecBuilder.create(instance -> instance.group(
 		Color.CODEC.fieldOf("start").forGetter(LinearPairGradient::start),
-		Color.CODEC.fieldOf("end").forGetter(LinearPairGradient::end)
+		Color.CODEC.fieldOf("end").forGetter(LinearPairGradient::end),
+		ColorInterpolation.CODEC.optionalFieldOf("interpolation", ColorInterpolation.SRGB).forGetter(LinearPairGradient::interpolation)
 	).apply(instance, LinearPairGradient::new));
 
 	public static final StreamCodec<ByteBuf, LinearPairGradient> STREAM_CODEC = StreamCodec.composite(
 		Color.STREAM_CODEC, LinearPairGradient::start,
 		Color.STREAM_CODEC, LinearPairGradient::end,
+		ColorInterpolation.STREAM_CODEC, LinearPairGradient::interpolation,
 		LinearPairGradient::new
 	);
 
+	private final Color start;
+	private final Color end;
+	private final ColorInterpolation interpolation;
+
+	// Both ends converted into the interpolation color space once, null for sRGB
+	private final float[] components;
+
+	public LinearPairGradient(Color start, Color end, ColorInterpolation interpolation) {
+		this.start = start;
+		this.end = end;
+		this.interpolation = interpolation;
+
+		if (interpolation == ColorInterpolation.SRGB) {
+			this.components = null;
+		} else {
+			this.components = new float[6];
+			interpolation.toComponents(start.argb(), components, 0);
+			interpolation.toComponents(end.argb(), components, 3);
+		}
+	}
+
+	public LinearPairGradient(Color start, Color end) {
+		this(start, end, ColorInterpolation.SRGB);
+	}
+
+	public Color start() {
+		return start;
+	}
+
+	public Color end() {
+		return end;
+	}
+
+	public ColorInterpolation interpolation() {
+		return interpolation;
+	}
+
 	@Override
 	public Color get(float delta) {
 		/*
@@ -29,7 +69,26 @@ public record LinearPairGradient(Color start, Color end) implements Gradient {
 		}
 		 */
 
-		return start.lerp(delta, end);
+		return Color.of(sampleARGB(delta));
+	}
+
+	@Override
+	public int sampleARGB(float delta) {
+		if (components == null) {
+			return ColorMath.lerpARGB(start.argb(), end.argb(), delta);
+		} else if (delta <= 0F) {
+			return start.argb();
+		} else if (delta >= 1F) {
+			return end.argb();
+		}
+
+		var c = components;
+		return interpolation.fromComponents(
+			ColorMath.lerpChannel(delta, start.alpha(), end.alpha()),
+			c[0] + (c[3] - c[0]) * delta,
+			c[1] + (c[4] - c[1]) * delta,
+			c[2] + (c[5] - c[2]) * delta
+		);
 	}
 
 	@Override
@@ -41,4 +100,19 @@ public record LinearPairGradient(Color start, Color end) implements Gradient {
 	public List<PositionedColor> getPositionedColors() {
 		return List.of(new PositionedColor(0F, start), new PositionedColor(1F, end));
 	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || o instanceof LinearPairGradient g && start.equals(g.start) && end.equals(g.end) && interpolation == g.interpolation;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(start, end, interpolation);
+	}
+
+	@Override
+	public String toString() {
+		return "LinearPairGradient[start=" + start + ", end=" + end + ", interpolation=" + interpolation + "]";
+	}
 }
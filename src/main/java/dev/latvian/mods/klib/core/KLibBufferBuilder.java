@@ -0,0 +1,12 @@
+package dev.latvian.mods.klib.core;
+
+import dev.latvian.mods.klib.vertex.VertexBatch;
+
+public interface KLibBufferBuilder {
+	/**
+	 * Writes the whole run straight into the builder's memory. Returns false if the format or mode isn't supported, in which case nothing was written
+	 */
+	default boolean writeBatch(VertexBatch batch, int from, int to) {
+		return false;
+	}
+}
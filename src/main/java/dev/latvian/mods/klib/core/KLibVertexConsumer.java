@@ -1,6 +1,7 @@
 package dev.latvian.mods.klib.core;
 
 import com.mojang.blaze3d.vertex.VertexConsumer;
+import dev.latvian.mods.klib.vertex.VertexBatch;
 import dev.latvian.mods.klib.vertex.VertexCallback;
 
 public interface KLibVertexConsumer extends VertexCallback {
@@ -39,4 +40,29 @@ public interface KLibVertexConsumer extends VertexCallback {
 		((VertexConsumer) this).setUv1(u, v);
 		return this;
 	}
+
+	@Override
+	default void acceptBatch(VertexBatch batch, int from, int to) {
+		if (this instanceof KLibBufferBuilder builder && builder.writeBatch(batch, from, to)) {
+			return;
+		}
+
+		var consumer = (VertexConsumer) this;
+
+		for (int i = from; i < to; i++) {
+			consumer.addVertex(batch.x[i], batch.y[i], batch.z[i]);
+
+			if (batch.color) {
+				consumer.setColor(batch.r[i], batch.g[i], batch.b[i], batch.a[i]);
+			}
+
+			if (batch.tex) {
+				consumer.setUv(batch.u[i], batch.v[i]);
+			}
+
+			if (batch.normal) {
+				consumer.setNormal(batch.nx[i], batch.ny[i], batch.nz[i]);
+			}
+		}
+	}
 }
@@ -0,0 +1,129 @@
+package dev.latvian.mods.klib.core.mixin;
+
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexFormatElement;
+import dev.latvian.mods.klib.core.KLibBufferBuilder;
+import dev.latvian.mods.klib.vertex.VertexBatch;
+import net.minecraft.util.Mth;
+import org.lwjgl.system.MemoryUtil;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+
+@Mixin(BufferBuilder.class)
+public abstract class BufferBuilderMixin implements KLibBufferBuilder {
+	@Shadow
+	@Final
+	private ByteBufferBuilder buffer;
+
+	@Shadow
+	@Final
+	private VertexFormat format;
+
+	@Shadow
+	@Final
+	private VertexFormat.Mode mode;
+
+	@Shadow
+	private long vertexPointer;
+
+	@Shadow
+	private int vertices;
+
+	@Shadow
+	private int elementsToFill;
+
+	@Shadow
+	protected abstract void ensureBuilding();
+
+	@Shadow
+	protected abstract void endLastVertex();
+
+	@Override
+	public boolean writeBatch(VertexBatch batch, int from, int to) {
+		// Line modes duplicate every vertex when it's finished, leave those to the vanilla path
+		if (mode == VertexFormat.Mode.LINES || mode == VertexFormat.Mode.LINE_STRIP) {
+			return false;
+		}
+
+		int supplied = VertexFormatElement.POSITION.mask();
+
+		if (batch.color) {
+			supplied |= VertexFormatElement.COLOR.mask();
+		}
+
+		if (batch.tex) {
+			supplied |= VertexFormatElement.UV0.mask();
+		}
+
+		if (batch.normal) {
+			supplied |= VertexFormatElement.NORMAL.mask();
+		}
+
+		int required = format.getElementsMask();
+
+		if ((required & ~supplied) != 0) {
+			return false;
+		}
+
+		int count = to - from;
+
+		if (count <= 0) {
+			return true;
+		}
+
+		ensureBuilding();
+		endLastVertex();
+
+		if (vertices + count > 16777215) {
+			throw new IllegalStateException("Trying to write too many vertices (>16777215) into BufferBuilder");
+		}
+
+		int vertexSize = format.getVertexSize();
+		var offsets = format.getOffsetsByElement();
+		int pos = offsets[VertexFormatElement.POSITION.id()];
+		boolean col = (required & VertexFormatElement.COLOR.mask()) != 0;
+		int colOffset = col ? offsets[VertexFormatElement.COLOR.id()] : 0;
+		boolean tex = (required & VertexFormatElement.UV0.mask()) != 0;
+		int texOffset = tex ? offsets[VertexFormatElement.UV0.id()] : 0;
+		boolean normal = (required & VertexFormatElement.NORMAL.mask()) != 0;
+		int normalOffset = normal ? offsets[VertexFormatElement.NORMAL.id()] : 0;
+
+		long start = buffer.reserve(vertexSize * count);
+
+		for (int i = 0; i < count; i++) {
+			long p = start + (long) i * vertexSize;
+			int j = from + i;
+
+			MemoryUtil.memPutFloat(p + pos, batch.x[j]);
+			MemoryUtil.memPutFloat(p + pos + 4L, batch.y[j]);
+			MemoryUtil.memPutFloat(p + pos + 8L, batch.z[j]);
+
+			if (col) {
+				MemoryUtil.memPutByte(p + colOffset, (byte) Mth.floor(batch.r[j] * 255F));
+				MemoryUtil.memPutByte(p + colOffset + 1L, (byte) Mth.floor(batch.g[j] * 255F));
+				MemoryUtil.memPutByte(p + colOffset + 2L, (byte) Mth.floor(batch.b[j] * 255F));
+				MemoryUtil.memPutByte(p + colOffset + 3L, (byte) Mth.floor(batch.a[j] * 255F));
+			}
+
+			if (tex) {
+				MemoryUtil.memPutFloat(p + texOffset, batch.u[j]);
+				MemoryUtil.memPutFloat(p + texOffset + 4L, batch.v[j]);
+			}
+
+			if (normal) {
+				MemoryUtil.memPutByte(p + normalOffset, (byte) (int) (Mth.clamp(batch.nx[j], -1F, 1F) * 127F));
+				MemoryUtil.memPutByte(p + normalOffset + 1L, (byte) (int) (Mth.clamp(batch.ny[j], -1F, 1F) * 127F));
+				MemoryUtil.memPutByte(p + normalOffset + 2L, (byte) (int) (Mth.clamp(batch.nz[j], -1F, 1F) * 127F));
+			}
+		}
+
+		// Leave the builder as if the last vertex had just been completed through the regular setters
+		vertices += count;
+		vertexPointer = start + (long) (count - 1) * vertexSize;
+		elementsToFill = 0;
+		return true;
+	}
+}
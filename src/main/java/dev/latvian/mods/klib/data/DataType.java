@@ -148,26 +148,38 @@ public final class DataType<T> {
 	public static <C> DataType<C> buildRaw(Class<C> typeClass, List<DataTypeField<C, ?>> fields, Function<Object[], C> constructor) {
 		var list = List.copyOf(fields);
 
-		return DataType.of(
+		var type = DataType.of(
 			new DataTypeBuilderCodec<>(list, constructor).codec(),
 			new DataTypeBuilderStreamCodec<>(list, constructor),
 			typeClass
 		);
+
+		type.deltaStreamCodec = DataTypeDeltaStreamCodec.of(list, constructor);
+		return type;
 	}
 
 	public static <C> DataType<C> build(
 		Class<C> typeClass,
 		List<DataTypeField<C, ?>> fields
 	) {
-		var lookup = MethodHandles.publicLookup();
-		List<Class<?>> types = Cast.to(fields.stream().map(DataTypeField::typeClass).toList());
-		var methodType = MethodType.methodType(void.class, types);
+		var constructor = DataTypeCodecGenerator.findConstructor(typeClass, fields);
+
+		if (constructor == null) {
+			// No constructor or more than one fits equally well, only accept one with exactly the field types
+			List<Class<?>> types = Cast.to(fields.stream().map(DataTypeField::typeClass).toList());
+			var methodType = MethodType.methodType(void.class, types);
+
+			try {
+				return buildRaw(typeClass, fields, new MethodHandleInvoker<>(MethodHandles.publicLookup().findConstructor(typeClass, methodType)));
+			} catch (Exception ex) {
+				throw new RuntimeException("Couldn't construct DataType, constructor not found: " + methodType, ex);
+			}
+		}
 
 		try {
-			var constructor = lookup.findConstructor(typeClass, methodType);
-			return buildRaw(typeClass, fields, new MethodHandleInvoker<>(constructor));
+			return DataTypeCodecGenerator.build(typeClass, fields, constructor, new MethodHandleInvoker<>(MethodHandles.publicLookup().unreflectConstructor(constructor)));
 		} catch (Exception ex) {
-			throw new RuntimeException("Couldn't construct DataType, constructor not found", ex);
+			throw new RuntimeException("Couldn't construct DataType, constructor not accessible", ex);
 		}
 	}
 
@@ -176,7 +188,7 @@ public final class DataType<T> {
 		DataTypeField<C, T1> f1,
 		Function<T1, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1), args -> constructor.apply((T1) args[0]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1), constructor, Function.class, args -> constructor.apply((T1) args[0]));
 	}
 
 	public static <C, T1, T2> DataType<C> build(
@@ -185,7 +197,7 @@ public final class DataType<T> {
 		DataTypeField<C, T2> f2,
 		BiFunction<T1, T2, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2), args -> constructor.apply((T1) args[0], (T2) args[1]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2), constructor, BiFunction.class, args -> constructor.apply((T1) args[0], (T2) args[1]));
 	}
 
 	public static <C, T1, T2, T3> DataType<C> build(
@@ -195,7 +207,7 @@ public final class DataType<T> {
 		DataTypeField<C, T3> f3,
 		Function3<T1, T2, T3, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3), constructor, Function3.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2]));
 	}
 
 	public static <C, T1, T2, T3, T4> DataType<C> build(
@@ -206,7 +218,7 @@ public final class DataType<T> {
 		DataTypeField<C, T4> f4,
 		Function4<T1, T2, T3, T4, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4), constructor, Function4.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5> DataType<C> build(
@@ -218,7 +230,7 @@ public final class DataType<T> {
 		DataTypeField<C, T5> f5,
 		Function5<T1, T2, T3, T4, T5, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5), constructor, Function5.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6> DataType<C> build(
@@ -231,7 +243,7 @@ public final class DataType<T> {
 		DataTypeField<C, T6> f6,
 		Function6<T1, T2, T3, T4, T5, T6, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6), constructor, Function6.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7> DataType<C> build(
@@ -245,7 +257,7 @@ public final class DataType<T> {
 		DataTypeField<C, T7> f7,
 		Function7<T1, T2, T3, T4, T5, T6, T7, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7), constructor, Function7.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8> DataType<C> build(
@@ -260,7 +272,7 @@ public final class DataType<T> {
 		DataTypeField<C, T8> f8,
 		Function8<T1, T2, T3, T4, T5, T6, T7, T8, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8), constructor, Function8.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9> DataType<C> build(
@@ -276,7 +288,7 @@ public final class DataType<T> {
 		DataTypeField<C, T9> f9,
 		Function9<T1, T2, T3, T4, T5, T6, T7, T8, T9, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9), constructor, Function9.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10> DataType<C> build(
@@ -293,7 +305,7 @@ public final class DataType<T> {
 		DataTypeField<C, T10> f10,
 		Function10<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10), constructor, Function10.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11> DataType<C> build(
@@ -311,7 +323,7 @@ public final class DataType<T> {
 		DataTypeField<C, T11> f11,
 		Function11<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11), constructor, Function11.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12> DataType<C> build(
@@ -330,7 +342,7 @@ public final class DataType<T> {
 		DataTypeField<C, T12> f12,
 		Function12<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12), constructor, Function12.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13> DataType<C> build(
@@ -350,7 +362,7 @@ public final class DataType<T> {
 		DataTypeField<C, T13> f13,
 		Function13<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13), constructor, Function13.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14> DataType<C> build(
@@ -371,7 +383,7 @@ public final class DataType<T> {
 		DataTypeField<C, T14> f14,
 		Function14<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12], (T14) args[13]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14), constructor, Function14.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12], (T14) args[13]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15> DataType<C> build(
@@ -393,7 +405,7 @@ public final class DataType<T> {
 		DataTypeField<C, T15> f15,
 		Function15<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12], (T14) args[13], (T15) args[14]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15), constructor, Function15.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12], (T14) args[13], (T15) args[14]));
 	}
 
 	public static <C, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16> DataType<C> build(
@@ -416,7 +428,7 @@ public final class DataType<T> {
 		DataTypeField<C, T16> f16,
 		Function16<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, C> constructor
 	) {
-		return buildRaw(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16), args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12], (T14) args[13], (T15) args[14], (T16) args[15]));
+		return DataTypeCodecGenerator.build(typeClass, List.of(f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16), constructor, Function16.class, args -> constructor.apply((T1) args[0], (T2) args[1], (T3) args[2], (T4) args[3], (T5) args[4], (T6) args[5], (T7) args[6], (T8) args[7], (T9) args[8], (T10) args[9], (T11) args[10], (T12) args[11], (T13) args[12], (T14) args[13], (T15) args[14], (T16) args[15]));
 	}
 
 	private final Codec<T> codec;
@@ -424,6 +436,7 @@ public final class DataType<T> {
 	private final Class<T> typeClass;
 	private DataType<List<T>> listType;
 	private DataType<Set<T>> setType;
+	DataTypeDeltaStreamCodec<T> deltaStreamCodec;
 
 	private DataType(Codec<T> codec, StreamCodec<? super RegistryFriendlyByteBuf, T> streamCodec, Class<T> typeClass) {
 		this.codec = codec;
@@ -443,6 +456,15 @@ public final class DataType<T> {
 		return typeClass;
 	}
 
+	/**
+	 * Only available for types created with {@link #builder(Class)}, {@link #build(Class, List)} or {@link #buildRaw(Class, List, Function)},
+	 * and with at most {@link DataTypeDeltaStreamCodec#MAX_FIELDS} fields
+	 */
+	@Nullable
+	public DataTypeDeltaStreamCodec<T> deltaStreamCodec() {
+		return deltaStreamCodec;
+	}
+
 	public <C> DataTypeField<C, T> field(String name, Function<C, T> getter) {
 		return new DataTypeField.RequiredField<>(this, name, getter);
 	}
@@ -41,29 +41,32 @@ public class DataTypeBuilder<C> {
 			throw new IllegalArgumentException("Expected " + argumentCount + " arguments, but got " + fields.size());
 		}
 
-		var list = List.copyOf(fields);
-		return DataType.of(
-			new DataTypeBuilderCodec<>(list, constructor).codec(),
-			new DataTypeBuilderStreamCodec<>(list, constructor),
-			typeClass
-		);
+		return DataType.buildRaw(typeClass, fields, constructor);
+	}
+
+	private DataType<C> buildGenerated(int argumentCount, Object constructor, Class<?> constructorType, Function<Object[], C> fallback) {
+		if (argumentCount != fields.size()) {
+			throw new IllegalArgumentException("Expected " + argumentCount + " arguments, but got " + fields.size());
+		}
+
+		return DataTypeCodecGenerator.build(typeClass, fields, constructor, constructorType, fallback);
 	}
 
 	public <T1> DataType<C> build(Function<T1, C> constructor) {
-		return buildRaw(1, args -> constructor.apply(
+		return buildGenerated(1, constructor, Function.class, args -> constructor.apply(
 			(T1) args[0]
 		));
 	}
 
 	public <T1, T2> DataType<C> build(BiFunction<T1, T2, C> constructor) {
-		return buildRaw(2, args -> constructor.apply(
+		return buildGenerated(2, constructor, BiFunction.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1]
 		));
 	}
 
 	public <T1, T2, T3> DataType<C> build(Function3<T1, T2, T3, C> constructor) {
-		return buildRaw(3, args -> constructor.apply(
+		return buildGenerated(3, constructor, Function3.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2]
@@ -71,7 +74,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4> DataType<C> build(Function4<T1, T2, T3, T4, C> constructor) {
-		return buildRaw(4, args -> constructor.apply(
+		return buildGenerated(4, constructor, Function4.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -80,7 +83,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5> DataType<C> build(Function5<T1, T2, T3, T4, T5, C> constructor) {
-		return buildRaw(5, args -> constructor.apply(
+		return buildGenerated(5, constructor, Function5.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -90,7 +93,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6> DataType<C> build(Function6<T1, T2, T3, T4, T5, T6, C> constructor) {
-		return buildRaw(6, args -> constructor.apply(
+		return buildGenerated(6, constructor, Function6.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -101,7 +104,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7> DataType<C> build(Function7<T1, T2, T3, T4, T5, T6, T7, C> constructor) {
-		return buildRaw(7, args -> constructor.apply(
+		return buildGenerated(7, constructor, Function7.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -113,7 +116,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8> DataType<C> build(Function8<T1, T2, T3, T4, T5, T6, T7, T8, C> constructor) {
-		return buildRaw(8, args -> constructor.apply(
+		return buildGenerated(8, constructor, Function8.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -126,7 +129,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9> DataType<C> build(Function9<T1, T2, T3, T4, T5, T6, T7, T8, T9, C> constructor) {
-		return buildRaw(9, args -> constructor.apply(
+		return buildGenerated(9, constructor, Function9.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -140,7 +143,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10> DataType<C> build(Function10<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, C> constructor) {
-		return buildRaw(10, args -> constructor.apply(
+		return buildGenerated(10, constructor, Function10.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -155,7 +158,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11> DataType<C> build(Function11<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, C> constructor) {
-		return buildRaw(11, args -> constructor.apply(
+		return buildGenerated(11, constructor, Function11.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -171,7 +174,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12> DataType<C> build(Function12<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, C> constructor) {
-		return buildRaw(12, args -> constructor.apply(
+		return buildGenerated(12, constructor, Function12.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -188,7 +191,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13> DataType<C> build(Function13<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, C> constructor) {
-		return buildRaw(13, args -> constructor.apply(
+		return buildGenerated(13, constructor, Function13.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -206,7 +209,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14> DataType<C> build(Function14<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, C> constructor) {
-		return buildRaw(14, args -> constructor.apply(
+		return buildGenerated(14, constructor, Function14.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -225,7 +228,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15> DataType<C> build(Function15<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, C> constructor) {
-		return buildRaw(15, args -> constructor.apply(
+		return buildGenerated(15, constructor, Function15.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
@@ -245,7 +248,7 @@ public class DataTypeBuilder<C> {
 	}
 
 	public <T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16> DataType<C> build(Function16<T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12, T13, T14, T15, T16, C> constructor) {
-		return buildRaw(16, args -> constructor.apply(
+		return buildGenerated(16, constructor, Function16.class, args -> constructor.apply(
 			(T1) args[0],
 			(T2) args[1],
 			(T3) args[2],
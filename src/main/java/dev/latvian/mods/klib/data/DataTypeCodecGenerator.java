@@ -0,0 +1,537 @@
+package dev.latvian.mods.klib.data;
+
+import dev.latvian.mods.klib.util.Cast;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.VarLong;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Generates a hidden class per {@link DataTypeBuilder} that reads and writes every field with straight-line bytecode and calls the constructor directly,
+ * instead of going through an Object[] and {@link java.lang.invoke.MethodHandle#invokeWithArguments(Object...)}.
+ * Required fields that use one of the primitive {@link ByteBufCodecs} and map to a primitive constructor parameter are read and written with direct {@link ByteBuf} calls, without boxing.
+ * Can be turned off with <code>-Dklib.disable_generated_codecs=true</code>, in which case the reflective {@link DataTypeBuilderStreamCodec} is used.
+ */
+final class DataTypeCodecGenerator implements Opcodes {
+	static final boolean ENABLED = !Boolean.getBoolean("klib.disable_generated_codecs");
+
+	private static final String CLASS_NAME = Type.getInternalName(DataTypeCodecGenerator.class).replace("DataTypeCodecGenerator", "GeneratedDataTypeCodec");
+	private static final String OBJECT = Type.getInternalName(Object.class);
+	private static final String OBJECT_ARRAY = Type.getInternalName(Object[].class);
+	private static final String FUNCTION = Type.getInternalName(Function.class);
+	private static final String BYTE_BUF = Type.getInternalName(ByteBuf.class);
+	private static final String VAR_INT = Type.getInternalName(VarInt.class);
+	private static final String FIELD = Type.getInternalName(DataTypeField.class);
+	private static final String FIELD_DESC = Type.getDescriptor(DataTypeField.class);
+	private static final String STREAM_CODEC = Type.getInternalName(StreamCodec.class);
+	private static final String STREAM_CODEC_DESC = Type.getDescriptor(StreamCodec.class);
+	private static final String VAR_LONG = Type.getInternalName(VarLong.class);
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, DataTypeField[].class, StreamCodec[].class, Object.class);
+
+	/**
+	 * How to read and write a primitive stream codec directly. Static methods take the ByteBuf as first argument, virtual ones are called on it
+	 */
+	private record PrimitiveCodec(Class<?> type, String owner, String writeMethod, String writeDesc, String readMethod, String readDesc) {
+		private PrimitiveCodec(Class<?> type, String write, String read) {
+			this(type, BYTE_BUF, write, "(" + (type == long.class ? "J" : type == float.class ? "F" : type == double.class ? "D" : type == boolean.class ? "Z" : "I") + ")L" + BYTE_BUF + ";", read, "()" + Type.getDescriptor(type));
+		}
+
+		private boolean isStatic() {
+			return !owner.equals(BYTE_BUF);
+		}
+
+		private void write(MethodVisitor mv) {
+			mv.visitMethodInsn(isStatic() ? INVOKESTATIC : INVOKEVIRTUAL, owner, writeMethod, writeDesc, false);
+			mv.visitInsn(POP);
+		}
+
+		private void read(MethodVisitor mv) {
+			mv.visitMethodInsn(isStatic() ? INVOKESTATIC : INVOKEVIRTUAL, owner, readMethod, readDesc, false);
+		}
+	}
+
+	private static final Map<StreamCodec<?, ?>, PrimitiveCodec> PRIMITIVE_CODECS = new IdentityHashMap<>();
+
+	static {
+		PRIMITIVE_CODECS.put(ByteBufCodecs.BOOL, new PrimitiveCodec(boolean.class, "writeBoolean", "readBoolean"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.BYTE, new PrimitiveCodec(byte.class, "writeByte", "readByte"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.SHORT, new PrimitiveCodec(short.class, "writeShort", "readShort"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.INT, new PrimitiveCodec(int.class, "writeInt", "readInt"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.LONG, new PrimitiveCodec(long.class, "writeLong", "readLong"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.FLOAT, new PrimitiveCodec(float.class, "writeFloat", "readFloat"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.DOUBLE, new PrimitiveCodec(double.class, "writeDouble", "readDouble"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.VAR_INT, new PrimitiveCodec(int.class, VAR_INT, "write", "(L" + BYTE_BUF + ";I)L" + BYTE_BUF + ";", "read", "(L" + BYTE_BUF + ";)I"));
+		PRIMITIVE_CODECS.put(ByteBufCodecs.VAR_LONG, new PrimitiveCodec(long.class, VAR_LONG, "write", "(L" + BYTE_BUF + ";J)L" + BYTE_BUF + ";", "read", "(L" + BYTE_BUF + ";)J"));
+	}
+
+	private DataTypeCodecGenerator() {
+	}
+
+	/**
+	 * Picks the public constructor that matches the fields best - exact parameter types first, then the canonical record constructor,
+	 * then primitive parameters for boxed fields, then any parameters the field types are assignable to
+	 *
+	 * @return the constructor, or null if there is none or more than one fits equally well
+	 */
+	@Nullable
+	static <C> Constructor<C> findConstructor(Class<C> typeClass, List<DataTypeField<C, ?>> fields) {
+		var components = typeClass.isRecord() ? typeClass.getRecordComponents() : null;
+		Constructor<?> best = null;
+		int bestRank = 0;
+		boolean ambiguous = false;
+
+		for (var constructor : typeClass.getConstructors()) {
+			var params = constructor.getParameterTypes();
+
+			if (params.length != fields.size()) {
+				continue;
+			}
+
+			// 4 = exact, 2 = primitive for a boxed field, 1 = assignable, 0 = no match. The worst parameter decides
+			int rank = 4;
+			boolean canonical = components != null && components.length == params.length;
+
+			for (int i = 0; i < params.length; i++) {
+				var type = fields.get(i).typeClass();
+				var param = params[i];
+				canonical &= components != null && components[i].getType() == param;
+
+				if (param == type) {
+					continue;
+				} else if (param.isPrimitive() && MethodType.methodType(param).wrap().returnType() == type) {
+					rank = Math.min(rank, 2);
+				} else if (!param.isPrimitive() && param.isAssignableFrom(type)) {
+					rank = Math.min(rank, 1);
+				} else {
+					rank = 0;
+					break;
+				}
+			}
+
+			if (rank > 0 && rank < 4 && canonical) {
+				rank = 3;
+			}
+
+			if (rank > bestRank) {
+				best = constructor;
+				bestRank = rank;
+				ambiguous = false;
+			} else if (rank > 0 && rank == bestRank) {
+				ambiguous = true;
+			}
+		}
+
+		return ambiguous ? null : Cast.to(best);
+	}
+
+	static <C> DataType<C> build(Class<C> typeClass, List<DataTypeField<C, ?>> fields, Constructor<C> constructor, Function<Object[], C> fallback) {
+		if (ENABLED && isAccessible(constructor.getDeclaringClass()) && isAccessible(constructor.getParameterTypes())) {
+			var list = List.copyOf(fields);
+			var instance = define(list, constructor, null, null);
+
+			if (instance != null) {
+				return of(typeClass, list, instance);
+			}
+		}
+
+		return DataType.buildRaw(typeClass, fields, fallback);
+	}
+
+	static <C> DataType<C> build(Class<C> typeClass, List<DataTypeField<C, ?>> fields, Object function, Class<?> functionType, Function<Object[], C> fallback) {
+		if (ENABLED) {
+			var list = List.copyOf(fields);
+			var instance = define(list, null, function, functionType);
+
+			if (instance != null) {
+				return of(typeClass, list, instance);
+			}
+		}
+
+		return DataType.buildRaw(typeClass, fields, fallback);
+	}
+
+	private static <C> DataType<C> of(Class<C> typeClass, List<DataTypeField<C, ?>> fields, Object instance) {
+		Function<Object[], C> constructor = Cast.to(instance);
+		StreamCodec<ByteBuf, C> streamCodec = Cast.to(instance);
+		var type = DataType.of(new DataTypeBuilderCodec<>(fields, constructor).codec(), streamCodec, typeClass);
+		type.deltaStreamCodec = DataTypeDeltaStreamCodec.of(fields, constructor);
+		return type;
+	}
+
+	private static boolean isAccessible(Class<?>... classes) {
+		var module = DataTypeCodecGenerator.class.getModule();
+
+		for (var c : classes) {
+			while (c.isArray()) {
+				c = c.getComponentType();
+			}
+
+			if (!c.isPrimitive() && (!Modifier.isPublic(c.getModifiers()) || !c.getModule().isExported(c.getPackageName(), module))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return codec instance, or null if the type has too many fields to be generated. Anything else that goes wrong is a bug and is thrown
+	 */
+	@Nullable
+	private static Object define(List<? extends DataTypeField<?, ?>> fields, @Nullable Constructor<?> constructor, @Nullable Object function, @Nullable Class<?> functionType) {
+		if (fields.size() > 31) {
+			return null;
+		}
+
+		var fieldArray = new DataTypeField<?, ?>[fields.size()];
+		var codecArray = new StreamCodec<?, ?>[fields.size()];
+
+		for (int i = 0; i < fieldArray.length; i++) {
+			fieldArray[i] = fields.get(i);
+
+			if (fieldArray[i] instanceof DataTypeField.RequiredField<?, ?> f) {
+				codecArray[i] = f.type().streamCodec();
+			}
+		}
+
+		try {
+			var bytes = generate(fieldArray, codecArray, constructor, functionType);
+			// Initializing links and verifies the class now, so broken bytecode fails here instead of at the first packet
+			var lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+			var instance = lookup.findConstructor(lookup.lookupClass(), CONSTRUCTOR_TYPE).invoke(fieldArray, codecArray, function);
+			selfCheck(instance);
+			return instance;
+		} catch (RuntimeException | Error ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw new IllegalStateException("Failed to generate stream codec for " + (constructor != null ? constructor : functionType), ex);
+		}
+	}
+
+	/**
+	 * Decodes all-zero input and encodes the result again, so linkage errors in the generated code show up when the type is built.
+	 * Field codecs and constructors are free to reject that input, only errors are let through
+	 */
+	private static void selfCheck(Object instance) {
+		StreamCodec<ByteBuf, Object> codec = Cast.to(instance);
+
+		try {
+			var value = codec.decode(Unpooled.wrappedBuffer(new byte[256]));
+			codec.encode(Unpooled.buffer(), value);
+		} catch (Exception ignored) {
+		}
+	}
+
+	private static byte[] generate(DataTypeField<?, ?>[] fields, StreamCodec<?, ?>[] codecs, @Nullable Constructor<?> constructor, @Nullable Class<?> functionType) {
+		int count = fields.length;
+		boolean canBeOptional = false;
+		int requiredMask = 0;
+
+		for (int i = 0; i < count; i++) {
+			if (fields[i].canBeOptional()) {
+				canBeOptional = true;
+			} else {
+				requiredMask |= 1 << i;
+			}
+		}
+
+		// Required fields that can skip boxing
+		var primitives = new PrimitiveCodec[count];
+		var unboxed = new boolean[count];
+
+		if (constructor != null) {
+			var params = constructor.getParameterTypes();
+
+			for (int i = 0; i < count; i++) {
+				var primitive = fields[i].canBeOptional() || codecs[i] == null ? null : PRIMITIVE_CODECS.get(codecs[i]);
+
+				if (primitive != null && primitive.type() == params[i]) {
+					primitives[i] = primitive;
+					unboxed[i] = true;
+				}
+			}
+		}
+
+		var cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+			@Override
+			protected String getCommonSuperClass(String type1, String type2) {
+				return OBJECT;
+			}
+		};
+
+		cw.visit(V21, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, null, OBJECT, new String[]{STREAM_CODEC, FUNCTION});
+
+		for (int i = 0; i < count; i++) {
+			cw.visitField(ACC_PRIVATE | ACC_FINAL, "f" + i, FIELD_DESC, null, null).visitEnd();
+
+			if (codecs[i] != null) {
+				cw.visitField(ACC_PRIVATE | ACC_FINAL, "s" + i, STREAM_CODEC_DESC, null, null).visitEnd();
+			}
+		}
+
+		cw.visitField(ACC_PRIVATE | ACC_FINAL, "constructor", "L" + OBJECT + ";", null, null).visitEnd();
+
+		// <init>(DataTypeField[], StreamCodec[], Object)
+		var mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_TYPE.toMethodDescriptorString(), null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+
+		for (int i = 0; i < count; i++) {
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitVarInsn(ALOAD, 1);
+			pushInt(mv, i);
+			mv.visitInsn(AALOAD);
+			mv.visitFieldInsn(PUTFIELD, CLASS_NAME, "f" + i, FIELD_DESC);
+
+			if (codecs[i] != null) {
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitVarInsn(ALOAD, 2);
+				pushInt(mv, i);
+				mv.visitInsn(AALOAD);
+				mv.visitFieldInsn(PUTFIELD, CLASS_NAME, "s" + i, STREAM_CODEC_DESC);
+			}
+		}
+
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitVarInsn(ALOAD, 3);
+		mv.visitFieldInsn(PUTFIELD, CLASS_NAME, "constructor", "L" + OBJECT + ";");
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// void encode(Object buf, Object value) - locals: 3 = ByteBuf, 4 = mask, 5+ = field values
+		mv = cw.visitMethod(ACC_PUBLIC, "encode", "(L" + OBJECT + ";L" + OBJECT + ";)V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 1);
+		mv.visitTypeInsn(CHECKCAST, BYTE_BUF);
+		mv.visitVarInsn(ASTORE, 3);
+
+		for (int i = 0; i < count; i++) {
+			if (primitives[i] == null) {
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, CLASS_NAME, "f" + i, FIELD_DESC);
+				mv.visitVarInsn(ALOAD, 2);
+				mv.visitMethodInsn(INVOKEINTERFACE, FIELD, "get", "(L" + OBJECT + ";)L" + OBJECT + ";", true);
+				mv.visitVarInsn(ASTORE, 5 + i);
+			}
+		}
+
+		if (canBeOptional) {
+			pushInt(mv, requiredMask);
+			mv.visitVarInsn(ISTORE, 4);
+
+			for (int i = 0; i < count; i++) {
+				if (fields[i].canBeOptional()) {
+					var skip = new Label();
+					mv.visitVarInsn(ALOAD, 0);
+					mv.visitFieldInsn(GETFIELD, CLASS_NAME, "f" + i, FIELD_DESC);
+					mv.visitVarInsn(ALOAD, 5 + i);
+					mv.visitMethodInsn(INVOKEINTERFACE, FIELD, "shouldEncode", "(L" + OBJECT + ";)Z", true);
+					mv.visitJumpInsn(IFEQ, skip);
+					mv.visitVarInsn(ILOAD, 4);
+					pushInt(mv, 1 << i);
+					mv.visitInsn(IOR);
+					mv.visitVarInsn(ISTORE, 4);
+					mv.visitLabel(skip);
+				}
+			}
+
+			mv.visitVarInsn(ALOAD, 3);
+			mv.visitVarInsn(ILOAD, 4);
+			mv.visitMethodInsn(INVOKESTATIC, VAR_INT, "write", "(L" + BYTE_BUF + ";I)L" + BYTE_BUF + ";", false);
+			mv.visitInsn(POP);
+		}
+
+		for (int i = 0; i < count; i++) {
+			if (fields[i].canBeOptional()) {
+				var skip = new Label();
+				mv.visitVarInsn(ILOAD, 4);
+				pushInt(mv, 1 << i);
+				mv.visitInsn(IAND);
+				mv.visitJumpInsn(IFEQ, skip);
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, CLASS_NAME, "f" + i, FIELD_DESC);
+				mv.visitVarInsn(ALOAD, 3);
+				mv.visitVarInsn(ALOAD, 5 + i);
+				mv.visitMethodInsn(INVOKEINTERFACE, FIELD, "encode", "(L" + BYTE_BUF + ";L" + OBJECT + ";)V", true);
+				mv.visitLabel(skip);
+			} else if (primitives[i] != null) {
+				// The getter is an arbitrary function, so its value is still unboxed once here
+				mv.visitVarInsn(ALOAD, 3);
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, CLASS_NAME, "f" + i, FIELD_DESC);
+				mv.visitVarInsn(ALOAD, 2);
+				mv.visitMethodInsn(INVOKEINTERFACE, FIELD, "get", "(L" + OBJECT + ";)L" + OBJECT + ";", true);
+				unbox(mv, primitives[i].type());
+				primitives[i].write(mv);
+			} else if (codecs[i] != null) {
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, CLASS_NAME, "s" + i, STREAM_CODEC_DESC);
+				mv.visitVarInsn(ALOAD, 3);
+				mv.visitVarInsn(ALOAD, 5 + i);
+				mv.visitMethodInsn(INVOKEINTERFACE, STREAM_CODEC, "encode", "(L" + OBJECT + ";L" + OBJECT + ";)V", true);
+			} else {
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, CLASS_NAME, "f" + i, FIELD_DESC);
+				mv.visitVarInsn(ALOAD, 3);
+				mv.visitVarInsn(ALOAD, 5 + i);
+				mv.visitMethodInsn(INVOKEINTERFACE, FIELD, "encode", "(L" + BYTE_BUF + ";L" + OBJECT + ";)V", true);
+			}
+		}
+
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Object decode(Object buf) - locals: 2 = ByteBuf, 3 = mask, 4+ = field values, long and double take two slots
+		var slots = new int[count];
+		var slotTypes = new Type[count];
+		int nextSlot = 4;
+
+		for (int i = 0; i < count; i++) {
+			slots[i] = nextSlot;
+			slotTypes[i] = primitives[i] != null ? Type.getType(primitives[i].type()) : Type.getObjectType(OBJECT);
+			nextSlot += slotTypes[i].getSize();
+		}
+
+		mv = cw.visitMethod(ACC_PUBLIC, "decode", "(L" + OBJECT + ";)L" + OBJECT + ";", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 1);
+		mv.visitTypeInsn(CHECKCAST, BYTE_BUF);
+		mv.visitVarInsn(ASTORE, 2);
+
+		if (canBeOptional) {
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitMethodInsn(INVOKESTATIC, VAR_INT, "read", "(L" + BYTE_BUF + ";)I", false);
+			mv.visitVarInsn(ISTORE, 3);
+		}
+
+		for (int i = 0; i < count; i++) {
+			if (primitives[i] != null) {
+				mv.visitVarInsn(ALOAD, 2);
+				primitives[i].read(mv);
+			} else if (!fields[i].canBeOptional() && codecs[i] != null) {
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, CLASS_NAME, "s" + i, STREAM_CODEC_DESC);
+				mv.visitVarInsn(ALOAD, 2);
+				mv.visitMethodInsn(INVOKEINTERFACE, STREAM_CODEC, "decode", "(L" + OBJECT + ";)L" + OBJECT + ";", true);
+			} else {
+				mv.visitVarInsn(ALOAD, 0);
+				mv.visitFieldInsn(GETFIELD, CLASS_NAME, "f" + i, FIELD_DESC);
+				mv.visitVarInsn(ALOAD, 2);
+
+				if (canBeOptional) {
+					// (mask >>> i) & 1 is already a valid boolean
+					mv.visitVarInsn(ILOAD, 3);
+					pushInt(mv, i);
+					mv.visitInsn(IUSHR);
+					mv.visitInsn(ICONST_1);
+					mv.visitInsn(IAND);
+				} else {
+					mv.visitInsn(ICONST_1);
+				}
+
+				mv.visitMethodInsn(INVOKEINTERFACE, FIELD, "decode", "(L" + BYTE_BUF + ";Z)L" + OBJECT + ";", true);
+			}
+
+			mv.visitVarInsn(slotTypes[i].getOpcode(ISTORE), slots[i]);
+		}
+
+		var decodeVisitor = mv;
+		construct(mv, constructor, functionType, count, unboxed, i -> decodeVisitor.visitVarInsn(slotTypes[i].getOpcode(ILOAD), slots[i]));
+		mv.visitInsn(ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Object apply(Object args), used by the DFU codec
+		mv = cw.visitMethod(ACC_PUBLIC, "apply", "(L" + OBJECT + ";)L" + OBJECT + ";", null, null);
+		mv.visitCode();
+		var applyVisitor = mv;
+		construct(mv, constructor, functionType, count, new boolean[count], i -> {
+			applyVisitor.visitVarInsn(ALOAD, 1);
+			applyVisitor.visitTypeInsn(CHECKCAST, OBJECT_ARRAY);
+			pushInt(applyVisitor, i);
+			applyVisitor.visitInsn(AALOAD);
+		});
+		mv.visitInsn(ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * @param unboxed arguments that are already loaded as their primitive parameter type
+	 */
+	private static void construct(MethodVisitor mv, @Nullable Constructor<?> constructor, @Nullable Class<?> functionType, int count, boolean[] unboxed, IntConsumer loadArg) {
+		if (constructor != null) {
+			var owner = Type.getInternalName(constructor.getDeclaringClass());
+			var params = constructor.getParameterTypes();
+			mv.visitTypeInsn(NEW, owner);
+			mv.visitInsn(DUP);
+
+			for (int i = 0; i < count; i++) {
+				loadArg.accept(i);
+
+				if (!unboxed[i]) {
+					unbox(mv, params[i]);
+				}
+			}
+
+			mv.visitMethodInsn(INVOKESPECIAL, owner, "<init>", Type.getConstructorDescriptor(constructor), false);
+		} else {
+			var owner = Type.getInternalName(functionType);
+			mv.visitVarInsn(ALOAD, 0);
+			mv.visitFieldInsn(GETFIELD, CLASS_NAME, "constructor", "L" + OBJECT + ";");
+			mv.visitTypeInsn(CHECKCAST, owner);
+
+			for (int i = 0; i < count; i++) {
+				loadArg.accept(i);
+			}
+
+			mv.visitMethodInsn(INVOKEINTERFACE, owner, "apply", "(" + ("L" + OBJECT + ";").repeat(count) + ")L" + OBJECT + ";", true);
+		}
+	}
+
+	private static void unbox(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			var wrapper = Type.getInternalName(MethodType.methodType(type).wrap().returnType());
+			mv.visitTypeInsn(CHECKCAST, wrapper);
+			mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value", "()" + Type.getDescriptor(type), false);
+		} else if (type != Object.class) {
+			mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+	private static void pushInt(MethodVisitor mv, int value) {
+		if (value >= -1 && value <= 5) {
+			mv.visitInsn(ICONST_0 + value);
+		} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(BIPUSH, value);
+		} else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			mv.visitIntInsn(SIPUSH, value);
+		} else {
+			mv.visitLdcInsn(value);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package dev.latvian.mods.klib.data;
+
+import dev.latvian.mods.klib.util.Cast;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.VarLong;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Encodes only the fields that changed since the previous value. Layout is a VarLong mask of changed fields,
+ * a VarLong mask of which changed optional fields are present (only written if any optional field changed), and then the changed field values in order.
+ * Decoding copies unchanged fields from the previous instance. Without a previous value every field counts as changed.
+ */
+public record DataTypeDeltaStreamCodec<C>(List<DataTypeField<C, ?>> fields, Function<Object[], C> constructor, long optionalMask) {
+	/**
+	 * Most fields a mask can hold. A 64th bit would make the all-fields mask wrap around to 0
+	 */
+	public static final int MAX_FIELDS = 63;
+
+	/**
+	 * @return delta codec for the fields, or null if there are more than {@link #MAX_FIELDS} of them
+	 */
+	@Nullable
+	public static <C> DataTypeDeltaStreamCodec<C> of(List<DataTypeField<C, ?>> fields, Function<Object[], C> constructor) {
+		return fields.size() > MAX_FIELDS ? null : new DataTypeDeltaStreamCodec<>(fields, constructor);
+	}
+
+	public DataTypeDeltaStreamCodec {
+		if (fields.size() > MAX_FIELDS) {
+			throw new IllegalArgumentException("Delta stream codecs support at most " + MAX_FIELDS + " fields, got " + fields.size());
+		}
+	}
+
+	public DataTypeDeltaStreamCodec(List<DataTypeField<C, ?>> fields, Function<Object[], C> constructor) {
+		this(fields, constructor, optionalMask(fields));
+	}
+
+	private static long optionalMask(List<? extends DataTypeField<?, ?>> fields) {
+		long mask = 0L;
+
+		for (int i = 0; i < fields.size(); i++) {
+			if (fields.get(i).canBeOptional()) {
+				mask |= 1L << i;
+			}
+		}
+
+		return mask;
+	}
+
+	public long changedMask(@Nullable C previous, C value) {
+		if (previous == null) {
+			return (1L << fields.size()) - 1L;
+		} else if (previous == value) {
+			return 0L;
+		}
+
+		long mask = 0L;
+
+		for (int i = 0; i < fields.size(); i++) {
+			var field = fields.get(i);
+
+			if (!Objects.equals(field.get(previous), field.get(value))) {
+				mask |= 1L << i;
+			}
+		}
+
+		return mask;
+	}
+
+	public boolean hasChanged(@Nullable C previous, C value) {
+		return changedMask(previous, value) != 0L;
+	}
+
+	public void encode(ByteBuf buf, @Nullable C previous, C value) {
+		encode(buf, value, changedMask(previous, value));
+	}
+
+	public void encode(ByteBuf buf, C value, long changed) {
+		VarLong.write(buf, changed);
+
+		if (changed == 0L) {
+			return;
+		}
+
+		var values = new Object[fields.size()];
+		long present = 0L;
+
+		for (int i = 0; i < fields.size(); i++) {
+			if ((changed & (1L << i)) != 0L) {
+				var field = fields.get(i);
+				values[i] = field.get(value);
+
+				if (field.shouldEncode(Cast.to(values[i]))) {
+					present |= 1L << i;
+				}
+			}
+		}
+
+		if ((changed & optionalMask) != 0L) {
+			VarLong.write(buf, present & optionalMask);
+		}
+
+		for (int i = 0; i < fields.size(); i++) {
+			if ((changed & present & (1L << i)) != 0L) {
+				fields.get(i).encode(buf, Cast.to(values[i]));
+			}
+		}
+	}
+
+	public C decode(ByteBuf buf, @Nullable C previous) {
+		long changed = VarLong.read(buf);
+
+		if (changed == 0L && previous != null) {
+			return previous;
+		}
+
+		long present = (changed & optionalMask) != 0L ? VarLong.read(buf) : 0L;
+		var args = new Object[fields.size()];
+
+		for (int i = 0; i < fields.size(); i++) {
+			var field = fields.get(i);
+			long bit = 1L << i;
+
+			if ((changed & bit) != 0L) {
+				args[i] = field.decode(buf, !field.canBeOptional() || (present & bit) != 0L);
+			} else if (previous != null) {
+				args[i] = field.get(previous);
+			} else {
+				throw new IllegalStateException("Field '" + field.name() + "' wasn't sent and there is no previous value to take it from");
+			}
+		}
+
+		return constructor.apply(args);
+	}
+}
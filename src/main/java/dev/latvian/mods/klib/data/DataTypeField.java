@@ -30,7 +30,7 @@ public interface DataTypeField<C, T> {
 
 		@Override
 		public boolean shouldEncode(T value) {
-			return false;
+			return true;
 		}
 
 		@Override
@@ -77,7 +77,7 @@ public interface DataTypeField<C, T> {
 
 		@Override
 		public boolean shouldEncode(Optional<T> value) {
-			return value.isEmpty();
+			return value.isPresent();
 		}
 
 		@Override
@@ -128,7 +128,7 @@ public interface DataTypeField<C, T> {
 
 		@Override
 		public boolean shouldEncode(T value) {
-			return Objects.equals(value, defaultValue);
+			return !Objects.equals(value, defaultValue);
 		}
 
 		@Override
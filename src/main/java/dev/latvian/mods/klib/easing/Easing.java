@@ -7,32 +7,54 @@ import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.util.StringRepresentable;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * <a href="https://easings.net/">Source</a>
  */
 public enum Easing implements EasingFunction, StringRepresentable {
-	LINEAR("linear", x -> x),
+	LINEAR("linear", x -> x, x -> x),
 
 	SINE_IN("sine_in", x -> 1 - Math.cos((x * Math.PI) / 2)),
 	SINE_OUT("sine_out", x -> Math.sin((x * Math.PI) / 2)),
 	SINE_IN_OUT("sine_in_out", x -> -(Math.cos(Math.PI * x) - 1) / 2),
 
-	QUAD_IN("quad_in", x -> x * x),
-	QUAD_OUT("quad_out", x -> 1 - (1 - x) * (1 - x)),
-	QUAD_IN_OUT("quad_in_out", x -> x < 0.5 ? 2 * x * x : 1 - Math.pow(-2 * x + 2, 2) / 2),
+	QUAD_IN("quad_in", x -> x * x, x -> x * x),
+	QUAD_OUT("quad_out", x -> 1 - (1 - x) * (1 - x), x -> 1F - (1F - x) * (1F - x)),
+	QUAD_IN_OUT("quad_in_out", x -> x < 0.5 ? 2 * x * x : 1 - Math.pow(-2 * x + 2, 2) / 2, x -> {
+		float t = -2F * x + 2F;
+		return x < 0.5F ? 2F * x * x : 1F - t * t / 2F;
+	}),
 
-	CUBIC_IN("cubic_in", x -> x * x * x),
-	CUBIC_OUT("cubic_out", x -> 1 - Math.pow(1 - x, 3)),
-	CUBIC_IN_OUT("cubic_in_out", x -> x < 0.5 ? 4 * x * x * x : 1 - Math.pow(-2 * x + 2, 3) / 2D),
+	CUBIC_IN("cubic_in", x -> x * x * x, x -> x * x * x),
+	CUBIC_OUT("cubic_out", x -> 1 - Math.pow(1 - x, 3), x -> {
+		float t = 1F - x;
+		return 1F - t * t * t;
+	}),
+	CUBIC_IN_OUT("cubic_in_out", x -> x < 0.5 ? 4 * x * x * x : 1 - Math.pow(-2 * x + 2, 3) / 2D, x -> {
+		float t = -2F * x + 2F;
+		return x < 0.5F ? 4F * x * x * x : 1F - t * t * t / 2F;
+	}),
 
-	QUART_IN("quart_in", x -> x * x * x * x),
-	QUART_OUT("quart_out", x -> 1 - Math.pow(1 - x, 4)),
-	QUART_IN_OUT("quart_in_out", x -> x < 0.5 ? 8 * x * x * x * x : 1 - Math.pow(-2 * x + 2, 4) / 2D),
+	QUART_IN("quart_in", x -> x * x * x * x, x -> x * x * x * x),
+	QUART_OUT("quart_out", x -> 1 - Math.pow(1 - x, 4), x -> {
+		float t = 1F - x;
+		return 1F - t * t * t * t;
+	}),
+	QUART_IN_OUT("quart_in_out", x -> x < 0.5 ? 8 * x * x * x * x : 1 - Math.pow(-2 * x + 2, 4) / 2D, x -> {
+		float t = -2F * x + 2F;
+		return x < 0.5F ? 8F * x * x * x * x : 1F - t * t * t * t / 2F;
+	}),
 
-	QUINT_IN("quint_in", x -> x * x * x * x * x),
-	QUINT_OUT("quint_out", x -> 1 - Math.pow(1 - x, 5)),
-	QUINT_IN_OUT("quint_in_out", x -> x < 0.5 ? 16 * x * x * x * x * x : 1 - Math.pow(-2 * x + 2, 5) / 2D),
+	QUINT_IN("quint_in", x -> x * x * x * x * x, x -> x * x * x * x * x),
+	QUINT_OUT("quint_out", x -> 1 - Math.pow(1 - x, 5), x -> {
+		float t = 1F - x;
+		return 1F - t * t * t * t * t;
+	}),
+	QUINT_IN_OUT("quint_in_out", x -> x < 0.5 ? 16 * x * x * x * x * x : 1 - Math.pow(-2 * x + 2, 5) / 2D, x -> {
+		float t = -2F * x + 2F;
+		return x < 0.5F ? 16F * x * x * x * x * x : 1F - t * t * t * t * t / 2F;
+	}),
 
 	EXPO_IN("expo_in", x -> x == 0 ? 0 : Math.pow(2, 10 * x - 10)),
 	EXPO_OUT("expo_out", x -> x == 1 ? 1 : 1 - Math.pow(2, -10 * x)),
@@ -42,8 +64,11 @@ public enum Easing implements EasingFunction, StringRepresentable {
 	CIRC_OUT("circ_out", x -> Math.sqrt(1 - (x - 1) * (x - 1))),
 	CIRC_IN_OUT("circ_in_out", x -> x < 0.5 ? (1 - Math.sqrt(1 - 4 * x * x)) / 2 : (Math.sqrt(1 - (-2 * x + 2) * (-2 * x + 2)) + 1) / 2),
 
-	BACK_IN("back_in", x -> x * x * (2.70158 * x - 1.70158)),
-	BACK_OUT("back_out", x -> 1 - (1 - x) * (1 - x) * (2.70158 * (1 - x) - 1.70158)),
+	BACK_IN("back_in", x -> x * x * (2.70158 * x - 1.70158), x -> x * x * (2.70158F * x - 1.70158F)),
+	BACK_OUT("back_out", x -> 1 - (1 - x) * (1 - x) * (2.70158 * (1 - x) - 1.70158), x -> {
+		float t = 1F - x;
+		return 1F - t * t * (2.70158F * t - 1.70158F);
+	}),
 	BACK_IN_OUT("back_in_out", x -> x < 0.5 ? Math.pow(2 * x, 2) * ((2.5949095 + 1) * 2 * x - 2.5949095) / 2 : (Math.pow(2 * x - 2, 2) * ((2.5949095 + 1) * (x * 2 - 2) + 2.5949095) + 2) / 2),
 
 	ELASTIC_IN("elastic_in", x -> Math.sin(13 * Math.PI / 2 * x) * Math.pow(2, 10 * x - 10)),
@@ -69,11 +94,11 @@ public enum Easing implements EasingFunction, StringRepresentable {
 	ISMOOTHSTEP("ismoothstep", KMath::ismoothstep),
 	SMOOTHERSTEP("smootherstep", KMath::smootherstep),
 
-	MIN("min", x -> 0D),
-	MAX("max", x -> 1D),
-	MIDDLE("middle", x -> 0.5D),
-	HALF("half", x -> x / 2D),
-	DOUBLE("double", x -> Math.min(1D, x * 2D)),
+	MIN("min", x -> 0D, x -> 0F),
+	MAX("max", x -> 1D, x -> 1F),
+	MIDDLE("middle", x -> 0.5D, x -> 0.5F),
+	HALF("half", x -> x / 2D, x -> x / 2F),
+	DOUBLE("double", x -> Math.min(1D, x * 2D), x -> Math.min(1F, x * 2F)),
 
 	;
 
@@ -84,10 +109,19 @@ public enum Easing implements EasingFunction, StringRepresentable {
 
 	public final String name;
 	public final EasingFunction function;
+	@Nullable
+	public final FloatEasingFunction floatFunction;
+	private volatile EasingTable table;
+	private volatile boolean tabulated;
 
-	Easing(String name, EasingFunction function) {
+	Easing(String name, EasingFunction function, @Nullable FloatEasingFunction floatFunction) {
 		this.name = name;
 		this.function = function;
+		this.floatFunction = floatFunction;
+	}
+
+	Easing(String name, EasingFunction function) {
+		this(name, function, null);
 	}
 
 	@Override
@@ -95,6 +129,49 @@ public enum Easing implements EasingFunction, StringRepresentable {
 		return function.ease(x);
 	}
 
+	/**
+	 * Uses {@link #floatFunction} if there is one, otherwise {@link #table()} if {@link #tabulate(boolean)} is enabled, otherwise the exact function
+	 */
+	@Override
+	public float ease(float x) {
+		if (floatFunction != null) {
+			return floatFunction.ease(x);
+		} else if (tabulated) {
+			return table().ease(x);
+		}
+
+		return (float) function.ease(x);
+	}
+
+	/**
+	 * Table built on first use, aiming for {@link EasingTable#DEFAULT_MAX_ERROR}. Check {@link EasingTable#maxError()} for what it actually got
+	 */
+	public EasingTable table() {
+		var t = table;
+
+		if (t == null) {
+			// Building it twice from two threads is harmless
+			t = table = EasingTable.of(function);
+		}
+
+		return t;
+	}
+
+	/**
+	 * Makes {@link #ease(float)} use the lookup table instead of the exact function, but only if the table is within {@link EasingTable#DEFAULT_MAX_ERROR} of it.
+	 * Easings with a {@link #floatFunction} are already cheap and never use the table. The double path is always exact
+	 *
+	 * @return whether the table is used
+	 */
+	public boolean tabulate(boolean tabulated) {
+		this.tabulated = tabulated && floatFunction == null && table().maxError() <= EasingTable.DEFAULT_MAX_ERROR;
+		return this.tabulated;
+	}
+
+	public boolean isTabulated() {
+		return tabulated;
+	}
+
 	@Override
 	public String getSerializedName() {
 		return name;
@@ -17,7 +17,7 @@ public interface EasingFunction {
 	}
 
 	default float easeClamped(float x) {
-		return (float) ease(KMath.clamp(x, 0D, 1D));
+		return ease(KMath.clamp(x, 0F, 1F));
 	}
 
 	default double lerp(double t, double a, double b) {
@@ -59,6 +59,23 @@ public enum EasingGroup implements StringRepresentable {
 		return name;
 	}
 
+	/**
+	 * See {@link Easing#tabulate(boolean)}
+	 */
+	public void tabulate(boolean tabulated) {
+		in.tabulate(tabulated);
+		out.tabulate(tabulated);
+		inOut.tabulate(tabulated);
+	}
+
+	public float easeMirrored(float x, EasingGroup end) {
+		return x < 0.5F ? out.ease(x * 2F) : 1F - end.out.ease((x - 0.5F) * 2F);
+	}
+
+	public float easeMirrored(float x) {
+		return easeMirrored(x, this);
+	}
+
 	public double easeMirrored(double x, EasingGroup end) {
 		return x < 0.5D ? out.ease(x * 2D) : 1D - end.out.ease((x - 0.5D) * 2D);
 	}
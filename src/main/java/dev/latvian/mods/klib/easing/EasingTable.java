@@ -0,0 +1,91 @@
+package dev.latvian.mods.klib.easing;
+
+/**
+ * Easing sampled at uniform steps over 0 - 1 and linearly interpolated in between. The table starts at {@link #MIN_SIZE} intervals and doubles until the interpolation error,
+ * measured against the exact function at several points inside every interval, is at most the requested error or {@link #MAX_SIZE} is reached. {@link #maxError()} is the measured error of the final table,
+ * which can stay above the requested one for easings with jumps or infinite slopes, e.g. elastic in-out or circ. Values outside of 0 - 1 go to the exact function
+ */
+public final class EasingTable implements EasingFunction {
+	public static final float DEFAULT_MAX_ERROR = 1E-4F;
+	public static final int MIN_SIZE = 64;
+	public static final int MAX_SIZE = 1 << 14;
+
+	// Points checked inside every interval
+	private static final int ERROR_SAMPLES = 7;
+
+	public static EasingTable of(EasingFunction function, float maxError) {
+		for (int size = MIN_SIZE; ; size <<= 1) {
+			var values = new float[size + 1];
+
+			for (int i = 0; i <= size; i++) {
+				values[i] = (float) function.ease(i / (double) size);
+			}
+
+			double error = 0D;
+
+			for (int i = 0; i < size && error <= maxError; i++) {
+				for (int j = 1; j <= ERROR_SAMPLES; j++) {
+					double f = j / (double) (ERROR_SAMPLES + 1);
+					double approx = values[i] + (values[i + 1] - values[i]) * f;
+					error = Math.max(error, Math.abs(approx - function.ease((i + f) / size)));
+				}
+			}
+
+			if (error <= maxError || size >= MAX_SIZE) {
+				return new EasingTable(function, values, (float) error);
+			}
+		}
+	}
+
+	public static EasingTable of(EasingFunction function) {
+		return of(function, DEFAULT_MAX_ERROR);
+	}
+
+	private final EasingFunction function;
+	private final float[] values;
+	private final float scale;
+	private final float maxError;
+
+	private EasingTable(EasingFunction function, float[] values, float maxError) {
+		this.function = function;
+		this.values = values;
+		this.scale = values.length - 1;
+		this.maxError = maxError;
+	}
+
+	public EasingFunction function() {
+		return function;
+	}
+
+	public int size() {
+		return values.length - 1;
+	}
+
+	public float maxError() {
+		return maxError;
+	}
+
+	@Override
+	public float ease(float x) {
+		if (x >= 0F && x < 1F) {
+			float f = x * scale;
+			int i = (int) f;
+			float a = values[i];
+			return a + (values[i + 1] - a) * (f - i);
+		} else if (x == 1F) {
+			return values[values.length - 1];
+		}
+
+		return (float) function.ease(x);
+	}
+
+	@Override
+	public double ease(double x) {
+		return x >= 0D && x <= 1D ? ease((float) x) : function.ease(x);
+	}
+
+	@Override
+	public String toString() {
+		return "EasingTable[" + function + ", " + size() + "]";
+	}
+}
@@ -0,0 +1,9 @@
+package dev.latvian.mods.klib.easing;
+
+/**
+ * Single precision version of an {@link EasingFunction}, for easings that can be computed without <code>double</code> math
+ */
+@FunctionalInterface
+public interface FloatEasingFunction {
+	float ease(float x);
+}
@@ -44,6 +44,19 @@ public record StaticBuffers(VertexFormat format, int vertexCount, int indexCount
 		return of(meshData, name, null);
 	}
 
+	/**
+	 * GPU memory owned by these buffers. Shared sequential index buffers aren't counted
+	 */
+	public long byteSize() {
+		long size = vertexBuffer == null ? 0L : vertexBuffer.size;
+
+		if (indexBuffer != null) {
+			size += indexBuffer.buffer().size;
+		}
+
+		return size;
+	}
+
 	public void setIndexBuffer(RenderPass renderPass, RenderPipeline pipeline) {
 		if (indexBuffer == null) {
 			var buf = IndexBuffer.of(pipeline.getVertexFormatMode(), vertexCount);
@@ -52,4 +65,12 @@ public record StaticBuffers(VertexFormat format, int vertexCount, int indexCount
 			renderPass.setIndexBuffer(indexBuffer.buffer(), indexBuffer.type());
 		}
 	}
+
+	public void draw(RenderPass renderPass, RenderPipeline pipeline) {
+		if (!isEmpty()) {
+			renderPass.setVertexBuffer(0, vertexBuffer);
+			setIndexBuffer(renderPass, pipeline);
+			renderPass.drawIndexed(0, indexCount);
+		}
+	}
 }
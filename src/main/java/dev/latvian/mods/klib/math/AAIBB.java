@@ -1,9 +1,14 @@
 package dev.latvian.mods.klib.math;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.mojang.serialization.Codec;
 import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
 import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
@@ -13,10 +18,121 @@ import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.phys.AABB;
 
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.IntStream;
 
 public record AAIBB(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+	/**
+	 * Most keys each of the key caches holds in total, least recently used sets are dropped beyond that
+	 */
+	public static final long MAX_CACHED_KEYS = 1L << 20;
+
+	// Most entries a collected set is pre-sized for, larger ones grow as needed
+	private static final int MAX_PRESIZE = 1 << 16;
+
+	// Separate, so asking for chunk keys of a tall box doesn't also build and keep its much larger section set
+	private static final LoadingCache<AAIBB, LongSet> CHUNK_KEY_CACHE = keyCache(box -> LongSets.unmodifiable(box.collectChunkPositions()));
+	private static final LoadingCache<AAIBB, LongSet> SECTION_KEY_CACHE = keyCache(box -> LongSets.unmodifiable(box.collectSectionPositions()));
+
+	private static LoadingCache<AAIBB, LongSet> keyCache(Function<AAIBB, LongSet> loader) {
+		return CacheBuilder.newBuilder()
+			.maximumWeight(MAX_CACHED_KEYS)
+			.weigher((AAIBB box, LongSet keys) -> keys.size())
+			.build(CacheLoader.from(loader::apply));
+	}
+
+	public static void clearKeyCache() {
+		CHUNK_KEY_CACHE.invalidateAll();
+		SECTION_KEY_CACHE.invalidateAll();
+	}
+
+	/**
+	 * Walks every block position in section order - sections by x, z then y, and positions inside each section by y, z then x, matching chunk section storage layout
+	 */
+	public static class SectionOrderIterator implements LongIterator {
+		private final AAIBB box;
+		private final int sminX, sminY, sminZ, smaxX, smaxY, smaxZ;
+		private int sx, sy, sz;
+		private int x0, y0, z0, x1, y1, z1;
+		private int x, y, z;
+		private boolean hasNext;
+
+		public SectionOrderIterator(AAIBB box) {
+			this.box = box;
+			this.sminX = box.minX >> 4;
+			this.sminY = box.minY >> 4;
+			this.sminZ = box.minZ >> 4;
+			this.smaxX = box.maxX >> 4;
+			this.smaxY = box.maxY >> 4;
+			this.smaxZ = box.maxZ >> 4;
+			this.sx = sminX;
+			this.sy = sminY;
+			this.sz = sminZ;
+			this.hasNext = true;
+			enterSection();
+		}
+
+		private void enterSection() {
+			x0 = Math.max(box.minX, sx << 4);
+			y0 = Math.max(box.minY, sy << 4);
+			z0 = Math.max(box.minZ, sz << 4);
+			x1 = Math.min(box.maxX, (sx << 4) + 15);
+			y1 = Math.min(box.maxY, (sy << 4) + 15);
+			z1 = Math.min(box.maxZ, (sz << 4) + 15);
+			x = x0;
+			y = y0;
+			z = z0;
+		}
+
+		private void nextSection() {
+			if (++sy > smaxY) {
+				sy = sminY;
+
+				if (++sz > smaxZ) {
+					sz = sminZ;
+
+					if (++sx > smaxX) {
+						hasNext = false;
+						return;
+					}
+				}
+			}
+
+			enterSection();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		@Override
+		public long nextLong() {
+			if (!hasNext) {
+				throw new NoSuchElementException();
+			}
+
+			long pos = BlockPos.asLong(x, y, z);
+
+			if (++x > x1) {
+				x = x0;
+
+				if (++z > z1) {
+					z = z0;
+
+					if (++y > y1) {
+						nextSection();
+					}
+				}
+			}
+
+			return pos;
+		}
+	}
+
 	public static final Codec<AAIBB> CODEC = Codec.INT_STREAM.comapFlatMap(r -> Util.fixedSize(r, 6).map(AAIBB::new), AAIBB::toIntStream).stable();
 
 	public static final StreamCodec<ByteBuf, AAIBB> STREAM_CODEC = StreamCodec.composite(
@@ -80,15 +196,107 @@ public record AAIBB(int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
 	}
 
 	public LongSet collectChunkPositions() {
-		var chunks = new LongOpenHashSet();
+		var chunks = new LongOpenHashSet((int) Math.min(chunkCount(), MAX_PRESIZE));
 		collectChunkPositions(chunks);
 		return chunks;
 	}
 
+	public void forEveryChunkPosition(LongConsumer consumer) {
+		int cminX = minX >> 4;
+		int cminZ = minZ >> 4;
+		int cmaxX = maxX >> 4;
+		int cmaxZ = maxZ >> 4;
+
+		for (int x = cminX; x <= cmaxX; x++) {
+			for (int z = cminZ; z <= cmaxZ; z++) {
+				consumer.accept(ChunkPos.asLong(x, z));
+			}
+		}
+	}
+
+	public void collectSectionPositions(LongSet sections) {
+		forEverySectionPosition(sections::add);
+	}
+
+	public LongSet collectSectionPositions() {
+		var sections = new LongOpenHashSet((int) Math.min(sectionCount(), MAX_PRESIZE));
+		collectSectionPositions(sections);
+		return sections;
+	}
+
+	public void forEverySectionPosition(LongConsumer consumer) {
+		int cminX = minX >> 4;
+		int cminY = minY >> 4;
+		int cminZ = minZ >> 4;
+		int cmaxX = maxX >> 4;
+		int cmaxY = maxY >> 4;
+		int cmaxZ = maxZ >> 4;
+
+		for (int x = cminX; x <= cmaxX; x++) {
+			for (int z = cminZ; z <= cmaxZ; z++) {
+				for (int y = cminY; y <= cmaxY; y++) {
+					consumer.accept(SectionPos.asLong(x, y, z));
+				}
+			}
+		}
+	}
+
+	public long chunkCount() {
+		return ((maxX >> 4) - (minX >> 4) + 1L) * ((maxZ >> 4) - (minZ >> 4) + 1L);
+	}
+
+	public long sectionCount() {
+		return chunkCount() * ((maxY >> 4) - (minY >> 4) + 1L);
+	}
+
+	/**
+	 * Cached, read-only set of {@link ChunkPos#asLong(int, int)} keys this box touches
+	 */
+	public LongSet chunkKeys() {
+		return CHUNK_KEY_CACHE.getUnchecked(this);
+	}
+
+	/**
+	 * Cached, read-only set of {@link SectionPos#asLong(int, int, int)} keys this box touches
+	 */
+	public LongSet sectionKeys() {
+		return SECTION_KEY_CACHE.getUnchecked(this);
+	}
+
+	public LongIterator positionIterator() {
+		return new SectionOrderIterator(this);
+	}
+
+	public void forEveryPosition(LongConsumer consumer) {
+		var it = positionIterator();
+
+		while (it.hasNext()) {
+			consumer.accept(it.nextLong());
+		}
+	}
+
 	public boolean contains(int x, int y, int z) {
 		return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
 	}
 
+	public boolean contains(long packedPos) {
+		return contains(BlockPos.getX(packedPos), BlockPos.getY(packedPos), BlockPos.getZ(packedPos));
+	}
+
+	public boolean intersects(AAIBB other) {
+		return minX <= other.maxX && maxX >= other.minX && minY <= other.maxY && maxY >= other.minY && minZ <= other.maxZ && maxZ >= other.minZ;
+	}
+
+	/**
+	 * Squared distance from the block position to the closest block inside this box, 0 if it is inside
+	 */
+	public long distanceSq(int x, int y, int z) {
+		long dx = x < minX ? (long) minX - x : x > maxX ? (long) x - maxX : 0L;
+		long dy = y < minY ? (long) minY - y : y > maxY ? (long) y - maxY : 0L;
+		long dz = z < minZ ? (long) minZ - z : z > maxZ ? (long) z - maxZ : 0L;
+		return dx * dx + dy * dy + dz * dz;
+	}
+
 	public boolean containsChunk(int x, int z) {
 		int cminX = minX >> 4;
 		int cminZ = minZ >> 4;
@@ -147,4 +355,36 @@ public record AAIBB(int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
 			consumer.accept(pos.set(maxX, maxY, z));
 		}
 	}
+
+	public void forEveryPackedEdgePosition(LongConsumer consumer) {
+		consumer.accept(BlockPos.asLong(minX, minY, minZ));
+		consumer.accept(BlockPos.asLong(minX, minY, maxZ));
+		consumer.accept(BlockPos.asLong(minX, maxY, minZ));
+		consumer.accept(BlockPos.asLong(minX, maxY, maxZ));
+		consumer.accept(BlockPos.asLong(maxX, minY, minZ));
+		consumer.accept(BlockPos.asLong(maxX, minY, maxZ));
+		consumer.accept(BlockPos.asLong(maxX, maxY, minZ));
+		consumer.accept(BlockPos.asLong(maxX, maxY, maxZ));
+
+		for (int x = minX + 1; x < maxX; x++) {
+			consumer.accept(BlockPos.asLong(x, minY, minZ));
+			consumer.accept(BlockPos.asLong(x, minY, maxZ));
+			consumer.accept(BlockPos.asLong(x, maxY, minZ));
+			consumer.accept(BlockPos.asLong(x, maxY, maxZ));
+		}
+
+		for (int y = minY + 1; y < maxY; y++) {
+			consumer.accept(BlockPos.asLong(minX, y, minZ));
+			consumer.accept(BlockPos.asLong(minX, y, maxZ));
+			consumer.accept(BlockPos.asLong(maxX, y, minZ));
+			consumer.accept(BlockPos.asLong(maxX, y, maxZ));
+		}
+
+		for (int z = minZ + 1; z < maxZ; z++) {
+			consumer.accept(BlockPos.asLong(minX, minY, z));
+			consumer.accept(BlockPos.asLong(minX, maxY, z));
+			consumer.accept(BlockPos.asLong(maxX, minY, z));
+			consumer.accept(BlockPos.asLong(maxX, maxY, z));
+		}
+	}
 }
@@ -0,0 +1,423 @@
+package dev.latvian.mods.klib.math;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.phys.AABB;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Horizontal grid index of {@link AAIBB} regions. Every entry is bucketed into each cell (16 blocks wide by default, same as chunks) its box touches,
+ * so point and chunk lookups only check the regions of a single cell. Boxes that would cover more than {@link #maxCellsPerEntry} cells are kept in a separate list that is always scanned,
+ * which keeps a few world-sized zones from flooding the grid.
+ */
+public class AAIBBIndex<T> {
+	public record Entry<T>(AAIBB box, T value) {
+		public static <T> Codec<Entry<T>> codec(Codec<T> valueCodec) {
+			return RecordCodecBuilder.create(instance -> instance.group(
+				AAIBB.CODEC.fieldOf("box").forGetter(Entry::box),
+				valueCodec.fieldOf("value").forGetter(Entry::value)
+			).apply(instance, Entry::new));
+		}
+
+		public static <B extends ByteBuf, T> StreamCodec<B, Entry<T>> streamCodec(StreamCodec<? super B, T> valueCodec) {
+			return StreamCodec.composite(
+				AAIBB.STREAM_CODEC, Entry::box,
+				valueCodec, Entry::value,
+				Entry::new
+			);
+		}
+	}
+
+	public static final int DEFAULT_CELL_SHIFT = 4;
+	public static final int DEFAULT_MAX_CELLS_PER_ENTRY = 256;
+
+	/**
+	 * Keeps {@link #cellShift} and {@link #maxCellsPerEntry}, so a decoded index behaves the same as the encoded one
+	 */
+	public static <T> Codec<AAIBBIndex<T>> codec(Codec<T> valueCodec) {
+		return RecordCodecBuilder.create(instance -> instance.group(
+			Codec.intRange(0, 30).optionalFieldOf("cell_shift", DEFAULT_CELL_SHIFT).forGetter(i -> i.cellShift),
+			Codec.INT.optionalFieldOf("max_cells_per_entry", DEFAULT_MAX_CELLS_PER_ENTRY).forGetter(i -> i.maxCellsPerEntry),
+			Entry.codec(valueCodec).listOf().fieldOf("entries").forGetter(AAIBBIndex::toList)
+		).apply(instance, AAIBBIndex::of));
+	}
+
+	public static <B extends ByteBuf, T> StreamCodec<B, AAIBBIndex<T>> streamCodec(StreamCodec<? super B, T> valueCodec) {
+		return StreamCodec.composite(
+			ByteBufCodecs.VAR_INT, i -> i.cellShift,
+			ByteBufCodecs.VAR_INT, i -> i.maxCellsPerEntry,
+			Entry.<B, T>streamCodec(valueCodec).apply(ByteBufCodecs.list()), AAIBBIndex::toList,
+			AAIBBIndex::of
+		);
+	}
+
+	public static <T> AAIBBIndex<T> of(int cellShift, int maxCellsPerEntry, Collection<Entry<T>> entries) {
+		var index = new AAIBBIndex<T>(cellShift, maxCellsPerEntry);
+
+		for (var entry : entries) {
+			index.insert(entry);
+		}
+
+		return index;
+	}
+
+	public static <T> AAIBBIndex<T> of(Collection<Entry<T>> entries) {
+		return of(DEFAULT_CELL_SHIFT, DEFAULT_MAX_CELLS_PER_ENTRY, entries);
+	}
+
+	public final int cellShift;
+	public final int maxCellsPerEntry;
+	private final Set<Entry<T>> entries;
+	private final Long2ObjectOpenHashMap<List<Entry<T>>> cells;
+	private final List<Entry<T>> large;
+	private int minCellX, minCellZ, maxCellX, maxCellZ;
+
+	public AAIBBIndex(int cellShift, int maxCellsPerEntry) {
+		this.cellShift = cellShift;
+		this.maxCellsPerEntry = maxCellsPerEntry;
+		this.entries = new LinkedHashSet<>();
+		this.cells = new Long2ObjectOpenHashMap<>();
+		this.large = new ArrayList<>();
+		this.minCellX = Integer.MAX_VALUE;
+		this.minCellZ = Integer.MAX_VALUE;
+		this.maxCellX = Integer.MIN_VALUE;
+		this.maxCellZ = Integer.MIN_VALUE;
+	}
+
+	public AAIBBIndex() {
+		this(DEFAULT_CELL_SHIFT, DEFAULT_MAX_CELLS_PER_ENTRY);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	public Collection<Entry<T>> entries() {
+		return Collections.unmodifiableCollection(entries);
+	}
+
+	public List<Entry<T>> toList() {
+		return List.copyOf(entries);
+	}
+
+	private boolean isLarge(AAIBB box) {
+		long w = (box.maxX() >> cellShift) - (box.minX() >> cellShift) + 1L;
+		long d = (box.maxZ() >> cellShift) - (box.minZ() >> cellShift) + 1L;
+		return w * d > maxCellsPerEntry;
+	}
+
+	public boolean insert(AAIBB box, T value) {
+		return insert(new Entry<>(box, value));
+	}
+
+	public boolean insert(Entry<T> entry) {
+		if (!entries.add(entry)) {
+			return false;
+		}
+
+		var box = entry.box();
+
+		if (isLarge(box)) {
+			large.add(entry);
+			return true;
+		}
+
+		int cminX = box.minX() >> cellShift;
+		int cminZ = box.minZ() >> cellShift;
+		int cmaxX = box.maxX() >> cellShift;
+		int cmaxZ = box.maxZ() >> cellShift;
+
+		for (int x = cminX; x <= cmaxX; x++) {
+			for (int z = cminZ; z <= cmaxZ; z++) {
+				cells.computeIfAbsent(ChunkPos.asLong(x, z), k -> new ObjectArrayList<>(2)).add(entry);
+			}
+		}
+
+		minCellX = Math.min(minCellX, cminX);
+		minCellZ = Math.min(minCellZ, cminZ);
+		maxCellX = Math.max(maxCellX, cmaxX);
+		maxCellZ = Math.max(maxCellZ, cmaxZ);
+		return true;
+	}
+
+	public boolean remove(AAIBB box, T value) {
+		return remove(new Entry<>(box, value));
+	}
+
+	public boolean remove(Entry<T> entry) {
+		if (!entries.remove(entry)) {
+			return false;
+		}
+
+		var box = entry.box();
+
+		if (isLarge(box)) {
+			large.remove(entry);
+			return true;
+		}
+
+		int cminX = box.minX() >> cellShift;
+		int cminZ = box.minZ() >> cellShift;
+		int cmaxX = box.maxX() >> cellShift;
+		int cmaxZ = box.maxZ() >> cellShift;
+
+		for (int x = cminX; x <= cmaxX; x++) {
+			for (int z = cminZ; z <= cmaxZ; z++) {
+				long key = ChunkPos.asLong(x, z);
+				var list = cells.get(key);
+
+				if (list != null && list.remove(entry) && list.isEmpty()) {
+					cells.remove(key);
+				}
+			}
+		}
+
+		return true;
+	}
+
+	public void clear() {
+		entries.clear();
+		cells.clear();
+		large.clear();
+		minCellX = Integer.MAX_VALUE;
+		minCellZ = Integer.MAX_VALUE;
+		maxCellX = Integer.MIN_VALUE;
+		maxCellZ = Integer.MIN_VALUE;
+	}
+
+	public void forEachAt(int x, int y, int z, Consumer<Entry<T>> consumer) {
+		for (var entry : large) {
+			if (entry.box().contains(x, y, z)) {
+				consumer.accept(entry);
+			}
+		}
+
+		var list = cells.get(ChunkPos.asLong(x >> cellShift, z >> cellShift));
+
+		if (list != null) {
+			for (var entry : list) {
+				if (entry.box().contains(x, y, z)) {
+					consumer.accept(entry);
+				}
+			}
+		}
+	}
+
+	public List<Entry<T>> getAllAt(int x, int y, int z) {
+		var result = new ArrayList<Entry<T>>(1);
+		forEachAt(x, y, z, result::add);
+		return result;
+	}
+
+	@Nullable
+	public Entry<T> getAt(int x, int y, int z) {
+		for (var entry : large) {
+			if (entry.box().contains(x, y, z)) {
+				return entry;
+			}
+		}
+
+		var list = cells.get(ChunkPos.asLong(x >> cellShift, z >> cellShift));
+
+		if (list != null) {
+			for (var entry : list) {
+				if (entry.box().contains(x, y, z)) {
+					return entry;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	public boolean contains(int x, int y, int z) {
+		return getAt(x, y, z) != null;
+	}
+
+	public void forEachOverlapping(AAIBB box, Consumer<Entry<T>> consumer) {
+		for (var entry : large) {
+			if (entry.box().intersects(box)) {
+				consumer.accept(entry);
+			}
+		}
+
+		int cminX = Math.max(box.minX() >> cellShift, minCellX);
+		int cminZ = Math.max(box.minZ() >> cellShift, minCellZ);
+		int cmaxX = Math.min(box.maxX() >> cellShift, maxCellX);
+		int cmaxZ = Math.min(box.maxZ() >> cellShift, maxCellZ);
+
+		if (cminX > cmaxX || cminZ > cmaxZ) {
+			return;
+		}
+
+		if (cminX == cmaxX && cminZ == cmaxZ) {
+			var list = cells.get(ChunkPos.asLong(cminX, cminZ));
+
+			if (list != null) {
+				for (var entry : list) {
+					if (entry.box().intersects(box)) {
+						consumer.accept(entry);
+					}
+				}
+			}
+
+			return;
+		}
+
+		var visited = new ReferenceOpenHashSet<Entry<T>>();
+
+		for (int x = cminX; x <= cmaxX; x++) {
+			for (int z = cminZ; z <= cmaxZ; z++) {
+				var list = cells.get(ChunkPos.asLong(x, z));
+
+				if (list != null) {
+					for (var entry : list) {
+						if (visited.add(entry) && entry.box().intersects(box)) {
+							consumer.accept(entry);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	public List<Entry<T>> getOverlapping(AAIBB box) {
+		var result = new ArrayList<Entry<T>>();
+		forEachOverlapping(box, result::add);
+		return result;
+	}
+
+	public List<Entry<T>> getOverlapping(AABB box) {
+		return getOverlapping(new AAIBB(
+			(int) Math.floor(box.minX),
+			(int) Math.floor(box.minY),
+			(int) Math.floor(box.minZ),
+			(int) Math.ceil(box.maxX) - 1,
+			(int) Math.ceil(box.maxY) - 1,
+			(int) Math.ceil(box.maxZ) - 1
+		));
+	}
+
+	public void forEachInChunk(int chunkX, int chunkZ, Consumer<Entry<T>> consumer) {
+		forEachOverlapping(new AAIBB(chunkX << 4, Integer.MIN_VALUE, chunkZ << 4, (chunkX << 4) + 15, Integer.MAX_VALUE, (chunkZ << 4) + 15), consumer);
+	}
+
+	public boolean containsChunk(int chunkX, int chunkZ) {
+		var found = new boolean[1];
+		forEachInChunk(chunkX, chunkZ, entry -> found[0] = true);
+		return found[0];
+	}
+
+	@Nullable
+	public Entry<T> nearest(int x, int y, int z) {
+		return nearest(x, y, z, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Searches outwards in square rings, starting at the first ring that reaches the populated cells, until no unvisited cell can be closer than the best match.
+	 * Once a ring would have more cells than there are populated ones, the remaining cells are scanned directly instead
+	 *
+	 * @return the entry whose box is closest to the position, or null if none are within maxDistance blocks
+	 */
+	@Nullable
+	public Entry<T> nearest(int x, int y, int z, int maxDistance) {
+		Entry<T> best = null;
+		long bestDistSq = (long) maxDistance * (long) maxDistance;
+
+		for (var entry : large) {
+			long d = entry.box().distanceSq(x, y, z);
+
+			if (d <= bestDistSq && (best == null || d < bestDistSq)) {
+				best = entry;
+				bestDistSq = d;
+			}
+		}
+
+		if (cells.isEmpty()) {
+			return best;
+		}
+
+		int cx = x >> cellShift;
+		int cz = z >> cellShift;
+		int cellSize = 1 << cellShift;
+		// Chebyshev distance in cells to the populated area, nearer rings are all empty
+		long minRing = Math.max(Math.max((long) minCellX - cx, (long) cx - maxCellX), Math.max((long) minCellZ - cz, (long) cz - maxCellZ));
+		long maxRing = Math.max(Math.max((long) cx - minCellX, (long) maxCellX - cx), Math.max((long) cz - minCellZ, (long) maxCellZ - cz));
+		// A cell r rings away is at least (r - 1) cells away in blocks
+		maxRing = Math.min(maxRing, (Math.max(maxDistance, 0) >> cellShift) + 1L);
+		var visited = new ReferenceOpenHashSet<Entry<T>>();
+
+		for (int r = (int) Math.max(minRing, 0L); r <= maxRing; r++) {
+			if (r > 0) {
+				long bound = (long) (r - 1) * cellSize;
+
+				if (bound * bound > bestDistSq) {
+					break;
+				}
+			}
+
+			if (8L * r > cells.size()) {
+				for (var list : cells.values()) {
+					for (var entry : list) {
+						if (visited.add(entry)) {
+							long d = entry.box().distanceSq(x, y, z);
+
+							if (d <= bestDistSq && (best == null || d < bestDistSq)) {
+								best = entry;
+								bestDistSq = d;
+							}
+						}
+					}
+				}
+
+				break;
+			}
+
+			for (int rx = cx - r; rx <= cx + r; rx++) {
+				boolean edgeX = rx == cx - r || rx == cx + r;
+
+				for (int rz = cz - r; rz <= cz + r; rz += edgeX ? 1 : r * 2) {
+					var list = cells.get(ChunkPos.asLong(rx, rz));
+
+					if (list != null) {
+						for (var entry : list) {
+							if (visited.add(entry)) {
+								long d = entry.box().distanceSq(x, y, z);
+
+								if (d <= bestDistSq && (best == null || d < bestDistSq)) {
+									best = entry;
+									bestDistSq = d;
+								}
+							}
+						}
+					}
+
+					if (r == 0) {
+						break;
+					}
+				}
+			}
+		}
+
+		return best;
+	}
+}
@@ -0,0 +1,195 @@
+package dev.latvian.mods.klib.math;
+
+import dev.latvian.mods.klib.shape.Shape;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.minecraft.world.phys.AABB;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays list of world space boxes, tested all at once with {@link FrustumPlanes#cull(BoundsBatch, int[])}.
+ * {@link #buildHierarchy()} optionally groups nearby boxes so whole groups can be rejected with a single test
+ */
+public final class BoundsBatch {
+	public static final int GROUP_SIZE = 16;
+
+	public double[] minX, minY, minZ, maxX, maxY, maxZ;
+	private int size;
+	int[] order;
+	double[] groups;
+	int groupCount;
+
+	public BoundsBatch(int capacity) {
+		minX = new double[capacity];
+		minY = new double[capacity];
+		minZ = new double[capacity];
+		maxX = new double[capacity];
+		maxY = new double[capacity];
+		maxZ = new double[capacity];
+		order = new int[0];
+		groups = new double[0];
+	}
+
+	public BoundsBatch() {
+		this(16);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+		groupCount = 0;
+	}
+
+	public boolean hasHierarchy() {
+		return groupCount > 0;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (minX.length < capacity) {
+			int c = Math.max(capacity, minX.length + (minX.length >> 1));
+			minX = Arrays.copyOf(minX, c);
+			minY = Arrays.copyOf(minY, c);
+			minZ = Arrays.copyOf(minZ, c);
+			maxX = Arrays.copyOf(maxX, c);
+			maxY = Arrays.copyOf(maxY, c);
+			maxZ = Arrays.copyOf(maxZ, c);
+		}
+	}
+
+	/**
+	 * @return index of the added box. Adding a box invalidates the hierarchy
+	 */
+	public int add(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		int i = size;
+		ensureCapacity(i + 1);
+		this.minX[i] = minX;
+		this.minY[i] = minY;
+		this.minZ[i] = minZ;
+		this.maxX[i] = maxX;
+		this.maxY[i] = maxY;
+		this.maxZ[i] = maxZ;
+		size = i + 1;
+		groupCount = 0;
+		return i;
+	}
+
+	public int add(AABB box) {
+		return add(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ);
+	}
+
+	/**
+	 * Adds {@link Shape#bounds()} offset by the position the shape will be built at. Infinite bounds are never culled
+	 */
+	public int add(Shape shape, double x, double y, double z) {
+		var b = shape.bounds();
+
+		if (b.isInfinite()) {
+			return add(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+		}
+
+		return add(x + b.minX, y + b.minY, z + b.minZ, x + b.maxX, y + b.maxY, z + b.maxZ);
+	}
+
+	/**
+	 * Sorts boxes along a Morton curve of their centers and computes bounds of every {@link #GROUP_SIZE} consecutive boxes.
+	 * Worth it for static batches that are culled many times, e.g. every frame
+	 */
+	public void buildHierarchy() {
+		int n = size;
+
+		if (n <= GROUP_SIZE) {
+			groupCount = 0;
+			return;
+		}
+
+		double lx = Double.POSITIVE_INFINITY, ly = lx, lz = lx;
+		double hx = Double.NEGATIVE_INFINITY, hy = hx, hz = hx;
+
+		for (int i = 0; i < n; i++) {
+			double cx = (minX[i] + maxX[i]) * 0.5D;
+			double cy = (minY[i] + maxY[i]) * 0.5D;
+			double cz = (minZ[i] + maxZ[i]) * 0.5D;
+
+			if (Double.isFinite(cx) && Double.isFinite(cy) && Double.isFinite(cz)) {
+				lx = Math.min(lx, cx);
+				ly = Math.min(ly, cy);
+				lz = Math.min(lz, cz);
+				hx = Math.max(hx, cx);
+				hy = Math.max(hy, cy);
+				hz = Math.max(hz, cz);
+			}
+		}
+
+		var codes = new long[n];
+		double sx = hx > lx ? 1023D / (hx - lx) : 0D;
+		double sy = hy > ly ? 1023D / (hy - ly) : 0D;
+		double sz = hz > lz ? 1023D / (hz - lz) : 0D;
+
+		if (order.length < n) {
+			order = new int[n];
+		}
+
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+			codes[i] = morton(
+				quantize(((minX[i] + maxX[i]) * 0.5D - lx) * sx),
+				quantize(((minY[i] + maxY[i]) * 0.5D - ly) * sy),
+				quantize(((minZ[i] + maxZ[i]) * 0.5D - lz) * sz)
+			);
+		}
+
+		IntArrays.quickSort(order, 0, n, (a, b) -> Long.compare(codes[a], codes[b]));
+
+		groupCount = (n + GROUP_SIZE - 1) / GROUP_SIZE;
+
+		if (groups.length < groupCount * 6) {
+			groups = new double[groupCount * 6];
+		}
+
+		for (int g = 0; g < groupCount; g++) {
+			int from = g * GROUP_SIZE;
+			int to = Math.min(from + GROUP_SIZE, n);
+			double gx0 = Double.POSITIVE_INFINITY, gy0 = gx0, gz0 = gx0;
+			double gx1 = Double.NEGATIVE_INFINITY, gy1 = gx1, gz1 = gx1;
+
+			for (int i = from; i < to; i++) {
+				int k = order[i];
+				gx0 = Math.min(gx0, minX[k]);
+				gy0 = Math.min(gy0, minY[k]);
+				gz0 = Math.min(gz0, minZ[k]);
+				gx1 = Math.max(gx1, maxX[k]);
+				gy1 = Math.max(gy1, maxY[k]);
+				gz1 = Math.max(gz1, maxZ[k]);
+			}
+
+			int j = g * 6;
+			groups[j] = gx0;
+			groups[j + 1] = gy0;
+			groups[j + 2] = gz0;
+			groups[j + 3] = gx1;
+			groups[j + 4] = gy1;
+			groups[j + 5] = gz1;
+		}
+	}
+
+	private static int quantize(double v) {
+		// NaN from infinite boxes ends up at 0
+		return v >= 1023D ? 1023 : v > 0D ? (int) v : 0;
+	}
+
+	private static long spread(int v) {
+		long x = v & 0x3FFL;
+		x = (x | (x << 16)) & 0x30000FFL;
+		x = (x | (x << 8)) & 0x300F00FL;
+		x = (x | (x << 4)) & 0x30C30C3L;
+		x = (x | (x << 2)) & 0x9249249L;
+		return x;
+	}
+
+	private static long morton(int x, int y, int z) {
+		return spread(x) | (spread(y) << 1) | (spread(z) << 2);
+	}
+}
@@ -1,5 +1,6 @@
 package dev.latvian.mods.klib.math;
 
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 
@@ -8,96 +9,145 @@ import java.util.Iterator;
 // https://en.wikipedia.org/wiki/Bresenham%27s_line_algorithm
 // https://www.youtube.com/watch?v=RGB-wlatStc
 public class BresenhamLineTracer implements Iterable<BlockPos> {
-	public static class BLTIterator implements Iterator<BlockPos> {
-		private final BresenhamLineTracer tracer;
-		private final BlockPos.MutableBlockPos voxel;
-		private int iteration, error1, error2;
+	@FunctionalInterface
+	public interface Visitor {
+		/**
+		 * @return false to stop tracing
+		 */
+		boolean visit(int x, int y, int z);
+	}
 
-		public BLTIterator(BresenhamLineTracer tracer) {
+	private static abstract class Cursor {
+		protected final BresenhamLineTracer tracer;
+		protected int x, y, z;
+		protected int iteration, error1, error2;
+
+		private Cursor(BresenhamLineTracer tracer) {
 			this.tracer = tracer;
-			this.voxel = tracer.start.mutable();
+			this.x = tracer.start.getX();
+			this.y = tracer.start.getY();
+			this.z = tracer.start.getZ();
 			this.iteration = 0;
 			this.error1 = tracer.startError1;
 			this.error2 = tracer.startError2;
 		}
 
-		@Override
 		public boolean hasNext() {
 			return this.iteration < tracer.length;
 		}
 
-		@Override
-		public BlockPos next() {
-			final BlockPos ret = this.voxel.immutable();
-
+		protected void advance() {
 			if (this.hasNext()) {
 				this.traverse();
 				this.iteration++;
 			}
-
-			return ret;
 		}
 
 		private void traverse() {
 			switch (tracer.axis) {
 				case X -> {
 					if (this.error1 > 0) {
-						this.bumpY();
+						this.y += tracer.yD;
 						this.error1 -= tracer.doubleAbsDx;
 					}
 					if (this.error2 > 0) {
-						this.bumpZ();
+						this.z += tracer.zD;
 						this.error2 -= tracer.doubleAbsDx;
 					}
 
 					this.error1 += tracer.doubleAbsDy;
 					this.error2 += tracer.doubleAbsDz;
 
-					this.bumpX();
+					this.x += tracer.xD;
 				}
 				case Y -> {
 					if (this.error1 > 0) {
-						this.bumpX();
+						this.x += tracer.xD;
 						this.error1 -= tracer.doubleAbsDy;
 					}
 					if (this.error2 > 0) {
-						this.bumpZ();
+						this.z += tracer.zD;
 						this.error2 -= tracer.doubleAbsDy;
 					}
 
 					this.error1 += tracer.doubleAbsDx;
 					this.error2 += tracer.doubleAbsDz;
 
-					this.bumpY();
+					this.y += tracer.yD;
 				}
 				case Z -> {
 					if (this.error1 > 0) {
-						this.bumpY();
+						this.y += tracer.yD;
 						this.error1 -= tracer.doubleAbsDz;
 					}
 					if (this.error2 > 0) {
-						this.bumpX();
+						this.x += tracer.xD;
 						this.error2 -= tracer.doubleAbsDz;
 					}
 
 					this.error1 += tracer.doubleAbsDy;
 					this.error2 += tracer.doubleAbsDx;
 
-					this.bumpZ();
+					this.z += tracer.zD;
 				}
 			}
 		}
+	}
 
-		private void bumpX() {
-			this.voxel.move(tracer.xD, 0, 0);
+	public static class BLTIterator extends Cursor implements Iterator<BlockPos> {
+		public BLTIterator(BresenhamLineTracer tracer) {
+			super(tracer);
 		}
 
-		private void bumpY() {
-			this.voxel.move(0, tracer.yD, 0);
+		@Override
+		public boolean hasNext() {
+			return super.hasNext();
 		}
 
-		private void bumpZ() {
-			this.voxel.move(0, 0, tracer.zD);
+		@Override
+		public BlockPos next() {
+			var ret = new BlockPos(this.x, this.y, this.z);
+			this.advance();
+			return ret;
+		}
+	}
+
+	public static class BLTLongIterator extends Cursor implements LongIterator {
+		public BLTLongIterator(BresenhamLineTracer tracer) {
+			super(tracer);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return super.hasNext();
+		}
+
+		@Override
+		public long nextLong() {
+			long ret = BlockPos.asLong(this.x, this.y, this.z);
+			this.advance();
+			return ret;
+		}
+	}
+
+	public static class BLTMutableIterator extends Cursor implements Iterator<BlockPos> {
+		private final BlockPos.MutableBlockPos voxel;
+
+		public BLTMutableIterator(BresenhamLineTracer tracer) {
+			super(tracer);
+			this.voxel = new BlockPos.MutableBlockPos();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return super.hasNext();
+		}
+
+		@Override
+		public BlockPos.MutableBlockPos next() {
+			this.voxel.set(this.x, this.y, this.z);
+			this.advance();
+			return this.voxel;
 		}
 	}
 
@@ -150,4 +200,32 @@ public class BresenhamLineTracer implements Iterable<BlockPos> {
 	public Iterator<BlockPos> iterator() {
 		return new BLTIterator(this);
 	}
+
+	public LongIterator longIterator() {
+		return new BLTLongIterator(this);
+	}
+
+	/**
+	 * Reuses a single {@link BlockPos.MutableBlockPos}, call {@link BlockPos#immutable()} on positions that need to be kept
+	 */
+	public Iterable<BlockPos> mutable() {
+		return () -> new BLTMutableIterator(this);
+	}
+
+	/**
+	 * @return true if every voxel was visited, false if visitor stopped early
+	 */
+	public boolean forEach(Visitor visitor) {
+		var cursor = new BLTLongIterator(this);
+
+		while (cursor.hasNext()) {
+			if (!visitor.visit(cursor.x, cursor.y, cursor.z)) {
+				return false;
+			}
+
+			cursor.advance();
+		}
+
+		return true;
+	}
 }
\ No newline at end of file
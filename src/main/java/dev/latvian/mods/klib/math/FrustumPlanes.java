@@ -0,0 +1,137 @@
+package dev.latvian.mods.klib.math;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+
+/**
+ * The six planes of a view frustum, extracted from a projection * model view matrix. Boxes are tested relative to the camera position, same as vanilla's Frustum.
+ * Use {@link #cull(BoundsBatch, int[])} to test many boxes in one loop instead of one virtual call per box
+ */
+public final class FrustumPlanes implements FrustumCheck {
+	public static final int OUTSIDE = 0;
+	public static final int INTERSECTS = 1;
+	public static final int INSIDE = 2;
+
+	// a, b, c, d for left, right, bottom, top, near, far
+	private final float[] planes = new float[24];
+	private double camX, camY, camZ;
+
+	public FrustumPlanes set(Matrix4fc projection, Matrix4fc modelView, double camX, double camY, double camZ) {
+		return set(projection.mul(modelView, new Matrix4f()), camX, camY, camZ);
+	}
+
+	public FrustumPlanes set(Matrix4fc m, double camX, double camY, double camZ) {
+		this.camX = camX;
+		this.camY = camY;
+		this.camZ = camZ;
+		plane(0, m.m03() + m.m00(), m.m13() + m.m10(), m.m23() + m.m20(), m.m33() + m.m30());
+		plane(1, m.m03() - m.m00(), m.m13() - m.m10(), m.m23() - m.m20(), m.m33() - m.m30());
+		plane(2, m.m03() + m.m01(), m.m13() + m.m11(), m.m23() + m.m21(), m.m33() + m.m31());
+		plane(3, m.m03() - m.m01(), m.m13() - m.m11(), m.m23() - m.m21(), m.m33() - m.m31());
+		plane(4, m.m03() + m.m02(), m.m13() + m.m12(), m.m23() + m.m22(), m.m33() + m.m32());
+		plane(5, m.m03() - m.m02(), m.m13() - m.m12(), m.m23() - m.m22(), m.m33() - m.m32());
+		return this;
+	}
+
+	private void plane(int i, float a, float b, float c, float d) {
+		planes[i * 4] = a;
+		planes[i * 4 + 1] = b;
+		planes[i * 4 + 2] = c;
+		planes[i * 4 + 3] = d;
+	}
+
+	/**
+	 * @return {@link #OUTSIDE}, {@link #INTERSECTS} or {@link #INSIDE}
+	 */
+	public int test(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		float x0 = (float) (minX - camX);
+		float y0 = (float) (minY - camY);
+		float z0 = (float) (minZ - camZ);
+		float x1 = (float) (maxX - camX);
+		float y1 = (float) (maxY - camY);
+		float z1 = (float) (maxZ - camZ);
+		var p = planes;
+		int result = INSIDE;
+
+		for (int i = 0; i < 24; i += 4) {
+			float a = p[i];
+			float b = p[i + 1];
+			float c = p[i + 2];
+			float d = p[i + 3];
+
+			// Corner furthest along the plane normal, if even that one is behind the plane the box is outside
+			if (a * (a < 0F ? x0 : x1) + b * (b < 0F ? y0 : y1) + c * (c < 0F ? z0 : z1) + d < 0F) {
+				return OUTSIDE;
+			} else if (!(a * (a < 0F ? x1 : x0) + b * (b < 0F ? y1 : y0) + c * (c < 0F ? z1 : z0) + d >= 0F)) {
+				// Negated so NaN from infinite boxes counts as intersecting rather than inside
+				result = INTERSECTS;
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public boolean isVisible(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		return test(minX, minY, minZ, maxX, maxY, maxZ) != OUTSIDE;
+	}
+
+	/**
+	 * Writes indices of visible boxes into <code>visible</code>, which has to fit {@link BoundsBatch#size()} entries, and returns how many there are.
+	 * If the batch has a hierarchy, whole groups are rejected or accepted at once and indices come out in hierarchy order
+	 */
+	public int cull(BoundsBatch batch, int[] visible) {
+		if (batch.hasHierarchy()) {
+			return cullHierarchy(batch, visible);
+		}
+
+		return cullRange(batch, 0, batch.size(), visible, 0);
+	}
+
+	private int cullRange(BoundsBatch batch, int from, int to, int[] visible, int count) {
+		var minX = batch.minX;
+		var minY = batch.minY;
+		var minZ = batch.minZ;
+		var maxX = batch.maxX;
+		var maxY = batch.maxY;
+		var maxZ = batch.maxZ;
+
+		for (int i = from; i < to; i++) {
+			if (test(minX[i], minY[i], minZ[i], maxX[i], maxY[i], maxZ[i]) != OUTSIDE) {
+				visible[count++] = i;
+			}
+		}
+
+		return count;
+	}
+
+	private int cullHierarchy(BoundsBatch batch, int[] visible) {
+		var order = batch.order;
+		var groups = batch.groups;
+		int size = batch.size();
+		int count = 0;
+
+		for (int g = 0; g < batch.groupCount; g++) {
+			int from = g * BoundsBatch.GROUP_SIZE;
+			int to = Math.min(from + BoundsBatch.GROUP_SIZE, size);
+			int j = g * 6;
+			int result = test(groups[j], groups[j + 1], groups[j + 2], groups[j + 3], groups[j + 4], groups[j + 5]);
+
+			if (result == INSIDE) {
+				for (int i = from; i < to; i++) {
+					visible[count++] = order[i];
+				}
+			} else if (result == INTERSECTS) {
+				for (int i = from; i < to; i++) {
+					int k = order[i];
+
+					if (test(batch.minX[k], batch.minY[k], batch.minZ[k], batch.maxX[k], batch.maxY[k], batch.maxZ[k]) != OUTSIDE) {
+						visible[count++] = k;
+					}
+				}
+			}
+		}
+
+		return count;
+	}
+}
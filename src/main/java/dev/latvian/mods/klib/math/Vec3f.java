@@ -2,6 +2,7 @@ package dev.latvian.mods.klib.math;
 
 import com.mojang.datafixers.util.Either;
 import com.mojang.serialization.Codec;
+import dev.latvian.mods.klib.data.DataType;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.core.Direction;
 import net.minecraft.network.codec.ByteBufCodecs;
@@ -106,6 +107,8 @@ public record Vec3f(float x, float y, float z) {
 		Vec3f::new
 	);
 
+	public static final DataType<Vec3f> DATA_TYPE = DataType.of(CODEC, STREAM_CODEC, Vec3f.class);
+
 	public float lengthSq() {
 		return x * x + y * y + z * z;
 	}
@@ -15,6 +15,7 @@ import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraft.world.phys.shapes.VoxelShape;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -45,6 +46,9 @@ public record VoxelShapeBox(List<Line> edges, List<AABB> boxes, boolean singleBo
 
 	public static final ShapeType TYPE = new ShapeType("voxel_shape", CODEC, STREAM_CODEC);
 
+	/**
+	 * Same as {@link #uncached(VoxelShape)}, but reuses the result for the same shape instance through {@link VoxelShapeBoxCache#DEFAULT}
+	 */
 	public static VoxelShapeBox of(VoxelShape shape) {
 		if (shape.isEmpty()) {
 			return EMPTY;
@@ -52,6 +56,16 @@ public record VoxelShapeBox(List<Line> edges, List<AABB> boxes, boolean singleBo
 			return FULL;
 		}
 
+		return VoxelShapeBoxCache.DEFAULT.get(shape);
+	}
+
+	public static VoxelShapeBox uncached(VoxelShape shape) {
+		if (shape.isEmpty()) {
+			return EMPTY;
+		} else if (shape == Shapes.block()) {
+			return FULL;
+		}
+
 		var boxes = new ArrayList<AABB>(1);
 		shape.forAllBoxes((minX, minY, minZ, maxX, maxY, maxZ) -> boxes.add(new AABB(minX, minY, minZ, maxX, maxY, maxZ)));
 
@@ -129,7 +143,32 @@ public record VoxelShapeBox(List<Line> edges, List<AABB> boxes, boolean singleBo
 		}
 	}
 
+	/**
+	 * Greedy mesh of all boxes, null if there is only one box or they can't be meshed
+	 */
+	@Nullable
+	public VoxelShapeMesh mesh() {
+		return singleBox ? null : VoxelShapeMesh.of(boxes);
+	}
+
+	/**
+	 * Builds the outer surface only, with internal faces removed and coplanar faces merged when possible
+	 */
 	public void buildQuads(Vec3 offset, VertexCallback callback) {
+		var mesh = mesh();
+
+		if (mesh != null) {
+			mesh.buildQuads(offset.x, offset.y, offset.z, callback);
+			return;
+		}
+
+		buildBoxQuads(offset, callback);
+	}
+
+	/**
+	 * Builds all six faces of every box, including ones hidden between boxes
+	 */
+	public void buildBoxQuads(Vec3 offset, VertexCallback callback) {
 		for (var box : boxes) {
 			float minX = (float) (box.minX + offset.x);
 			float minY = (float) (box.minY + offset.y);
@@ -153,6 +192,19 @@ public record VoxelShapeBox(List<Line> edges, List<AABB> boxes, boolean singleBo
 		}
 	}
 
+	/**
+	 * Builds edges of the outer surface computed from boxes, without duplicated or internal edges and with collinear ones joined. Falls back to {@link #edges()} if there is no mesh
+	 */
+	public void buildMergedLines(Vec3 offset, VertexCallback callback) {
+		var mesh = mesh();
+
+		if (mesh != null) {
+			mesh.buildLines(offset.x, offset.y, offset.z, callback);
+		} else {
+			buildLines(offset, callback);
+		}
+	}
+
 	public VoxelShapeBox move(double x, double y, double z) {
 		if (x == 0D && y == 0D && z == 0D) {
 			return this;
@@ -238,6 +290,13 @@ public record VoxelShapeBox(List<Line> edges, List<AABB> boxes, boolean singleBo
 
 	@Override
 	public void buildQuads(float x, float y, float z, VertexCallback callback) {
+		var mesh = mesh();
+
+		if (mesh != null) {
+			mesh.buildQuads(x, y, z, callback);
+			return;
+		}
+
 		for (var box : boxes) {
 			float minX = (float) (box.minX + x);
 			float minY = (float) (box.minY + y);
@@ -248,4 +307,43 @@ public record VoxelShapeBox(List<Line> edges, List<AABB> boxes, boolean singleBo
 			CuboidBuilder.quads(minX, minY, minZ, maxX, maxY, maxZ, callback);
 		}
 	}
+
+	@Override
+	public AABB bounds() {
+		if (singleBox) {
+			return boxes.getFirst();
+		}
+
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double minZ = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		double maxZ = Double.NEGATIVE_INFINITY;
+
+		for (var box : boxes) {
+			minX = Math.min(minX, box.minX);
+			minY = Math.min(minY, box.minY);
+			minZ = Math.min(minZ, box.minZ);
+			maxX = Math.max(maxX, box.maxX);
+			maxY = Math.max(maxY, box.maxY);
+			maxZ = Math.max(maxZ, box.maxZ);
+		}
+
+		for (var edge : edges) {
+			minX = Math.min(minX, Math.min(edge.start().x, edge.end().x));
+			minY = Math.min(minY, Math.min(edge.start().y, edge.end().y));
+			minZ = Math.min(minZ, Math.min(edge.start().z, edge.end().z));
+			maxX = Math.max(maxX, Math.max(edge.start().x, edge.end().x));
+			maxY = Math.max(maxY, Math.max(edge.start().y, edge.end().y));
+			maxZ = Math.max(maxZ, Math.max(edge.start().z, edge.end().z));
+		}
+
+		return minX > maxX ? new AABB(0D, 0D, 0D, 0D, 0D, 0D) : new AABB(minX, minY, minZ, maxX, maxY, maxZ);
+	}
+
+	@Override
+	public boolean isVisible(double x, double y, double z, FrustumCheck frustum) {
+		return (!boxes.isEmpty() || !edges.isEmpty()) && Shape.super.isVisible(x, y, z, frustum);
+	}
 }
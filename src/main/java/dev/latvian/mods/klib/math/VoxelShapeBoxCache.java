@@ -0,0 +1,47 @@
+package dev.latvian.mods.klib.math;
+
+import com.google.common.collect.MapMaker;
+import dev.latvian.mods.klib.util.WithCache;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the {@link VoxelShapeBox} of every {@link VoxelShape} it has seen. Shapes are compared by identity and held weakly, so block shapes, which are shared between all states that use them, convert once and entries go away with the shape.
+ * Safe to use from any thread, two threads converting the same new shape at once may both compute it
+ */
+public class VoxelShapeBoxCache implements WithCache {
+	public record Stats(int entries, long hits, long misses) {
+	}
+
+	public static final VoxelShapeBoxCache DEFAULT = new VoxelShapeBoxCache();
+
+	// Weak keys are compared by identity
+	private final ConcurrentMap<VoxelShape, VoxelShapeBox> entries = new MapMaker().weakKeys().makeMap();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public VoxelShapeBox get(VoxelShape shape) {
+		var box = entries.get(shape);
+
+		if (box != null) {
+			hits.incrementAndGet();
+			return box;
+		}
+
+		misses.incrementAndGet();
+		box = VoxelShapeBox.uncached(shape);
+		var prev = entries.putIfAbsent(shape, box);
+		return prev == null ? box : prev;
+	}
+
+	public Stats stats() {
+		return new Stats(entries.size(), hits.get(), misses.get());
+	}
+
+	@Override
+	public void clearCache() {
+		entries.clear();
+	}
+}
@@ -0,0 +1,364 @@
+package dev.latvian.mods.klib.math;
+
+import com.google.common.collect.MapMaker;
+import dev.latvian.mods.klib.shape.CuboidBuilder;
+import dev.latvian.mods.klib.vertex.VertexCallback;
+import net.minecraft.world.phys.AABB;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Outer surface of a union of boxes. Boxes are split into a grid along every distinct box coordinate, faces between two filled cells are dropped,
+ * the remaining coplanar faces are merged into as few rectangles as possible, and only edges where the surface actually bends are kept, with collinear segments joined
+ */
+public record VoxelShapeMesh(double[] faces, int[] faceStart, double[] lines) {
+	/**
+	 * Grids with more cells than this aren't meshed, boxes are built one by one instead
+	 */
+	public static final int MAX_CELLS = 1 << 16;
+
+	// Face order matches CuboidBuilder.quads - down, up, north, south, west, east
+	private static final int FACE_STRIDE = 5;
+	private static final int[] FACE_AXIS = {1, 1, 2, 2, 0, 0};
+
+	// Keyed by identity of the box list, VoxelShapeBox.of already returns the same instance for the same VoxelShape
+	private static final ConcurrentMap<List<AABB>, VoxelShapeMesh> CACHE = new MapMaker().weakKeys().makeMap();
+
+	// Cached in place of boxes that can't be meshed, so they aren't retried every frame
+	private static final VoxelShapeMesh NONE = new VoxelShapeMesh(new double[0], new int[7], new double[0]);
+
+	/**
+	 * @return cached mesh of the boxes, or null if they can't be meshed - fewer than two boxes, a box with no volume, an infinite box or too many cells
+	 */
+	@Nullable
+	public static VoxelShapeMesh of(List<AABB> boxes) {
+		if (boxes.size() < 2) {
+			return null;
+		}
+
+		var mesh = CACHE.get(boxes);
+
+		if (mesh == null) {
+			mesh = compute(boxes);
+
+			if (mesh == null) {
+				mesh = NONE;
+			}
+
+			CACHE.putIfAbsent(boxes, mesh);
+		}
+
+		return mesh == NONE ? null : mesh;
+	}
+
+	@Nullable
+	private static VoxelShapeMesh compute(List<AABB> boxes) {
+		int n = boxes.size();
+		var rx = new double[n * 2];
+		var ry = new double[n * 2];
+		var rz = new double[n * 2];
+
+		for (int i = 0; i < n; i++) {
+			var b = boxes.get(i);
+
+			if (b.isInfinite() || b.minX >= b.maxX || b.minY >= b.maxY || b.minZ >= b.maxZ) {
+				return null;
+			}
+
+			rx[i * 2] = b.minX;
+			rx[i * 2 + 1] = b.maxX;
+			ry[i * 2] = b.minY;
+			ry[i * 2 + 1] = b.maxY;
+			rz[i * 2] = b.minZ;
+			rz[i * 2 + 1] = b.maxZ;
+		}
+
+		var coords = new double[][]{distinct(rx), distinct(ry), distinct(rz)};
+		var grid = new Grid(coords[0].length - 1, coords[1].length - 1, coords[2].length - 1);
+
+		if ((long) grid.nx * grid.ny * grid.nz > MAX_CELLS) {
+			return null;
+		}
+
+		for (var b : boxes) {
+			int x0 = Arrays.binarySearch(coords[0], b.minX);
+			int x1 = Arrays.binarySearch(coords[0], b.maxX);
+			int y0 = Arrays.binarySearch(coords[1], b.minY);
+			int y1 = Arrays.binarySearch(coords[1], b.maxY);
+			int z0 = Arrays.binarySearch(coords[2], b.minZ);
+			int z1 = Arrays.binarySearch(coords[2], b.maxZ);
+
+			for (int x = x0; x < x1; x++) {
+				for (int y = y0; y < y1; y++) {
+					for (int z = z0; z < z1; z++) {
+						grid.filled[grid.index(x, y, z)] = true;
+					}
+				}
+			}
+		}
+
+		return new VoxelShapeMesh(grid.faces(coords), grid.faceStart, grid.lines(coords));
+	}
+
+	private static double[] distinct(double[] values) {
+		Arrays.sort(values);
+		int n = 0;
+
+		for (int i = 0; i < values.length; i++) {
+			if (i == 0 || values[i] != values[n - 1]) {
+				values[n++] = values[i];
+			}
+		}
+
+		return Arrays.copyOf(values, n);
+	}
+
+	private static final class Grid {
+		private final int nx, ny, nz;
+		private final boolean[] filled;
+		private final int[] faceStart = new int[7];
+
+		private Grid(int nx, int ny, int nz) {
+			this.nx = nx;
+			this.ny = ny;
+			this.nz = nz;
+			this.filled = new boolean[nx * ny * nz];
+		}
+
+		private int index(int x, int y, int z) {
+			return (x * ny + y) * nz + z;
+		}
+
+		private int size(int axis) {
+			return axis == 0 ? nx : axis == 1 ? ny : nz;
+		}
+
+		/**
+		 * Cell at position <code>w</code> along <code>axis</code> and <code>u</code>, <code>v</code> along the two others in CuboidBuilder argument order. Out of range cells are empty
+		 */
+		private boolean get(int axis, int w, int u, int v) {
+			int x, y, z;
+
+			switch (axis) {
+				case 0 -> {
+					x = w;
+					y = u;
+					z = v;
+				}
+				case 1 -> {
+					x = u;
+					y = w;
+					z = v;
+				}
+				default -> {
+					x = u;
+					y = v;
+					z = w;
+				}
+			}
+
+			return x >= 0 && y >= 0 && z >= 0 && x < nx && y < ny && z < nz && filled[index(x, y, z)];
+		}
+
+		private static int uAxis(int axis) {
+			return axis == 0 ? 1 : 0;
+		}
+
+		private static int vAxis(int axis) {
+			return axis == 2 ? 1 : 2;
+		}
+
+		private double[] faces(double[][] coords) {
+			var out = new DoubleList();
+
+			for (int face = 0; face < 6; face++) {
+				faceStart[face] = out.size / FACE_STRIDE;
+				int axis = FACE_AXIS[face];
+				boolean positive = (face & 1) == 1;
+				int nw = size(axis);
+				int nu = size(uAxis(axis));
+				int nv = size(vAxis(axis));
+				var cu = coords[uAxis(axis)];
+				var cv = coords[vAxis(axis)];
+				var mask = new boolean[nu * nv];
+
+				for (int w = 0; w < nw; w++) {
+					for (int u = 0; u < nu; u++) {
+						for (int v = 0; v < nv; v++) {
+							mask[u * nv + v] = get(axis, w, u, v) && !get(axis, positive ? w + 1 : w - 1, u, v);
+						}
+					}
+
+					double plane = coords[axis][positive ? w + 1 : w];
+
+					for (int u = 0; u < nu; u++) {
+						for (int v = 0; v < nv; v++) {
+							if (!mask[u * nv + v]) {
+								continue;
+							}
+
+							int v1 = v + 1;
+
+							while (v1 < nv && mask[u * nv + v1]) {
+								v1++;
+							}
+
+							int u1 = u + 1;
+
+							while (u1 < nu && row(mask, nv, u1, v, v1)) {
+								u1++;
+							}
+
+							for (int i = u; i < u1; i++) {
+								Arrays.fill(mask, i * nv + v, i * nv + v1, false);
+							}
+
+							out.add(plane);
+							out.add(cu[u]);
+							out.add(cv[v]);
+							out.add(cu[u1]);
+							out.add(cv[v1]);
+						}
+					}
+				}
+			}
+
+			faceStart[6] = out.size / FACE_STRIDE;
+			return out.toArray();
+		}
+
+		private static boolean row(boolean[] mask, int nv, int u, int v0, int v1) {
+			for (int v = v0; v < v1; v++) {
+				if (!mask[u * nv + v]) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * An edge runs between four cells. It's visible unless they are all the same or split into two halves by a flat face
+		 */
+		private boolean isEdge(int axis, int t, int u, int v) {
+			boolean a = get(axis, t, u - 1, v - 1);
+			boolean b = get(axis, t, u, v - 1);
+			boolean c = get(axis, t, u - 1, v);
+			boolean d = get(axis, t, u, v);
+			return !(a == b && c == d || a == c && b == d);
+		}
+
+		private double[] lines(double[][] coords) {
+			var out = new DoubleList();
+
+			for (int axis = 0; axis < 3; axis++) {
+				int nt = size(axis);
+				int ua = uAxis(axis);
+				int va = vAxis(axis);
+				int nu = size(ua);
+				int nv = size(va);
+				var ct = coords[axis];
+				var cu = coords[ua];
+				var cv = coords[va];
+
+				for (int u = 0; u <= nu; u++) {
+					for (int v = 0; v <= nv; v++) {
+						int start = -1;
+
+						for (int t = 0; t <= nt; t++) {
+							boolean edge = t < nt && isEdge(axis, t, u, v);
+
+							if (edge && start == -1) {
+								start = t;
+							} else if (!edge && start != -1) {
+								double[] p0 = new double[3];
+								double[] p1 = new double[3];
+								p0[axis] = ct[start];
+								p1[axis] = ct[t];
+								p0[ua] = p1[ua] = cu[u];
+								p0[va] = p1[va] = cv[v];
+								out.add(p0[0]);
+								out.add(p0[1]);
+								out.add(p0[2]);
+								out.add(p1[0]);
+								out.add(p1[1]);
+								out.add(p1[2]);
+								start = -1;
+							}
+						}
+					}
+				}
+			}
+
+			return out.toArray();
+		}
+	}
+
+	private static final class DoubleList {
+		private double[] data = new double[64];
+		private int size;
+
+		private void add(double value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, size * 2);
+			}
+
+			data[size++] = value;
+		}
+
+		private double[] toArray() {
+			return Arrays.copyOf(data, size);
+		}
+	}
+
+	public int faceCount() {
+		return faceStart[6];
+	}
+
+	public int lineCount() {
+		return lines.length / 6;
+	}
+
+	public void buildQuads(double x, double y, double z, VertexCallback callback) {
+		for (int face = 0; face < 6; face++) {
+			int axis = FACE_AXIS[face];
+			double w = axis == 0 ? x : axis == 1 ? y : z;
+			double u = axis == 0 ? y : x;
+			double v = axis == 2 ? y : z;
+
+			for (int i = faceStart[face]; i < faceStart[face + 1]; i++) {
+				int j = i * FACE_STRIDE;
+				float p = (float) (faces[j] + w);
+				float u0 = (float) (faces[j + 1] + u);
+				float v0 = (float) (faces[j + 2] + v);
+				float u1 = (float) (faces[j + 3] + u);
+				float v1 = (float) (faces[j + 4] + v);
+
+				switch (face) {
+					case 0 -> CuboidBuilder.downQuad(p, u0, v0, u1, v1, callback);
+					case 1 -> CuboidBuilder.upQuad(p, u0, v0, u1, v1, callback);
+					case 2 -> CuboidBuilder.northQuad(p, u0, v0, u1, v1, callback);
+					case 3 -> CuboidBuilder.southQuad(p, u0, v0, u1, v1, callback);
+					case 4 -> CuboidBuilder.westQuad(p, u0, v0, u1, v1, callback);
+					default -> CuboidBuilder.eastQuad(p, u0, v0, u1, v1, callback);
+				}
+			}
+		}
+	}
+
+	public void buildLines(double x, double y, double z, VertexCallback callback) {
+		for (int i = 0; i < lines.length; i += 6) {
+			callback.line(
+				(float) (x + lines[i]),
+				(float) (y + lines[i + 1]),
+				(float) (z + lines[i + 2]),
+				(float) (x + lines[i + 3]),
+				(float) (y + lines[i + 4]),
+				(float) (z + lines[i + 5])
+			);
+		}
+	}
+}
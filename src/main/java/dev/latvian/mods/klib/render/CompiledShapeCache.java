@@ -0,0 +1,192 @@
+package dev.latvian.mods.klib.render;
+
+import com.mojang.blaze3d.pipeline.RenderPipeline;
+import com.mojang.blaze3d.systems.RenderPass;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import dev.latvian.mods.klib.KLibMod;
+import dev.latvian.mods.klib.color.Color;
+import dev.latvian.mods.klib.gl.StaticBuffers;
+import dev.latvian.mods.klib.shape.Shape;
+import dev.latvian.mods.klib.util.WithCache;
+import dev.latvian.mods.klib.vertex.VertexCallback;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.RenderFrameEvent;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Bakes shapes into {@link StaticBuffers} once and keeps them around, so repeated static shapes are drawn from retained GPU buffers instead of being tessellated every frame.
+ * Entries are evicted least-recently-used first once either the entry or byte limit is exceeded, but never while they were used in the current frame,
+ * so the limits may be exceeded until {@link #endFrame()}. {@link #DEFAULT} ends its frames on its own, other caches must call it once per frame. Must only be used from the render thread
+ */
+@EventBusSubscriber(modid = KLibMod.ID, bus = EventBusSubscriber.Bus.GAME, value = Dist.CLIENT)
+public class CompiledShapeCache implements WithCache {
+	public record Key(Shape shape, Color color, boolean lines, @Nullable Matrix4fc transform) {
+		public Key(Shape shape, Color color, boolean lines, @Nullable Matrix4fc transform) {
+			this.shape = shape;
+			this.color = color;
+			this.lines = lines;
+			this.transform = transform == null ? null : new Matrix4f(transform);
+		}
+
+		public Key(Shape shape, Color color, boolean lines) {
+			this(shape, color, lines, null);
+		}
+	}
+
+	public record Stats(int entries, long bytes, long hits, long misses, long evictions) {
+	}
+
+	public static final CompiledShapeCache DEFAULT = new CompiledShapeCache(1024, 64L * 1024L * 1024L);
+
+	@SubscribeEvent
+	static void renderFrame(RenderFrameEvent.Post event) {
+		DEFAULT.endFrame();
+	}
+
+	private static final class Entry {
+		private final StaticBuffers buffers;
+		private long frame;
+
+		private Entry(StaticBuffers buffers, long frame) {
+			this.buffers = buffers;
+			this.frame = frame;
+		}
+	}
+
+	public final int maxEntries;
+	public final long maxBytes;
+	private final LinkedHashMap<Key, Entry> entries;
+	private long frame;
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public CompiledShapeCache(int maxEntries, long maxBytes) {
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.entries = new LinkedHashMap<>(16, 0.75F, true);
+	}
+
+	public static StaticBuffers compile(Key key) {
+		var format = key.lines() ? DefaultVertexFormat.POSITION_COLOR_NORMAL : DefaultVertexFormat.POSITION_COLOR;
+		var mode = key.lines() ? VertexFormat.Mode.LINES : VertexFormat.Mode.QUADS;
+
+		try (var memory = new ByteBufferBuilder(format.getVertexSize() * 256)) {
+			var builder = new BufferBuilder(memory, mode, format);
+			VertexCallback callback = builder;
+
+			if (key.transform() != null) {
+				callback = callback.withTransformedPositions(key.transform());
+			}
+
+			callback = (key.lines() ? callback.onlyPosColNormal() : callback.onlyPosCol()).withColor(key.color());
+
+			if (key.lines()) {
+				key.shape().buildLines(0F, 0F, 0F, callback);
+			} else {
+				key.shape().buildQuads(0F, 0F, 0F, callback);
+			}
+
+			try (var mesh = builder.build()) {
+				if (mesh == null) {
+					return StaticBuffers.empty(format);
+				}
+
+				return StaticBuffers.of(mesh, () -> "KLib compiled " + key.shape().type().name() + (key.lines() ? " lines" : " quads"));
+			}
+		}
+	}
+
+	/**
+	 * The returned buffers are owned by the cache. They stay valid until the end of the current frame, don't keep them past {@link #endFrame()}, {@link #remove(Key)} or {@link #clearCache()}
+	 */
+	public StaticBuffers get(Key key) {
+		RenderSystem.assertOnRenderThread();
+		var entry = entries.get(key);
+
+		if (entry != null) {
+			hits++;
+			entry.frame = frame;
+			return entry.buffers;
+		}
+
+		misses++;
+		var buffers = compile(key);
+		entries.put(key, new Entry(buffers, frame));
+		bytes += buffers.byteSize();
+		evict();
+		return buffers;
+	}
+
+	public StaticBuffers get(Shape shape, Color color, boolean lines) {
+		return get(new Key(shape, color, lines));
+	}
+
+	public void draw(RenderPass renderPass, RenderPipeline pipeline, Key key) {
+		get(key).draw(renderPass, pipeline);
+	}
+
+	/**
+	 * Allows entries used during the frame that just ended to be evicted again, and evicts down to the limits
+	 */
+	public void endFrame() {
+		RenderSystem.assertOnRenderThread();
+		frame++;
+		evict();
+	}
+
+	private void evict() {
+		var it = entries.values().iterator();
+
+		while ((entries.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+			var entry = it.next();
+
+			// Iteration is in access order, everything after an entry used this frame was used this frame too
+			if (entry.frame == frame) {
+				break;
+			}
+
+			it.remove();
+			bytes -= entry.buffers.byteSize();
+			evictions++;
+			entry.buffers.close();
+		}
+	}
+
+	public void remove(Key key) {
+		RenderSystem.assertOnRenderThread();
+		var entry = entries.remove(key);
+
+		if (entry != null) {
+			bytes -= entry.buffers.byteSize();
+			entry.buffers.close();
+		}
+	}
+
+	public Stats stats() {
+		return new Stats(entries.size(), bytes, hits, misses, evictions);
+	}
+
+	@Override
+	public void clearCache() {
+		RenderSystem.assertOnRenderThread();
+
+		for (var entry : entries.values()) {
+			entry.buffers.close();
+		}
+
+		entries.clear();
+		bytes = 0L;
+	}
+}
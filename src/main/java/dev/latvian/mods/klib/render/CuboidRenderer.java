@@ -27,7 +27,7 @@ public interface CuboidRenderer {
 
 	static void voxelShapeBox(PoseStack ms, VoxelShapeBox shape, Vec3 offset, MultiBufferSource buffers, BufferSupplier type, boolean cull, Color color, Color lineColor) {
 		if (!shape.edges().isEmpty() && !lineColor.isTransparent()) {
-			shape.buildLines(offset, ms.last().transform(type.lines(buffers)).withColor(lineColor));
+			shape.buildMergedLines(offset, ms.last().transform(type.lines(buffers)).withColor(lineColor));
 		}
 
 		if (!shape.boxes().isEmpty() && !color.isTransparent()) {
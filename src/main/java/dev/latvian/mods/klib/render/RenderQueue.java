@@ -0,0 +1,384 @@
+package dev.latvian.mods.klib.render;
+
+import dev.latvian.mods.klib.math.BoundsBatch;
+import dev.latvian.mods.klib.math.DistanceComparator;
+import dev.latvian.mods.klib.math.FrustumPlanes;
+import dev.latvian.mods.klib.math.PositionGetter;
+import dev.latvian.mods.klib.shape.Shape;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Distance sorted list of things to render. Positions are captured once when added, squared distances are computed once per {@link #sort} into a primitive array and ordered with a radix sort instead of {@link DistanceComparator}.
+ * When the camera only moved a little since the last full sort, the previous order is reused and fixed up with an insertion sort, which is close to linear for nearly sorted input.
+ * Optionally culls everything outside a {@link FrustumPlanes} before sorting
+ */
+public class RenderQueue<T> {
+	public enum Order {
+		/**
+		 * Nearest first, for opaque geometry so the depth test rejects as much as possible
+		 */
+		FRONT_TO_BACK,
+
+		/**
+		 * Furthest first, for translucent geometry so blending composites correctly. Same order as {@link DistanceComparator}
+		 */
+		BACK_TO_FRONT
+	}
+
+	/**
+	 * Default distance the camera may move before the queue is fully re-sorted
+	 */
+	public static final double RESORT_DISTANCE = 1D;
+
+	private Object[] items;
+	private double[] x, y, z;
+	private final BoundsBatch bounds;
+	private int size;
+
+	private float[] distances;
+	private int[] keys;
+	private int[] order;
+	private int[] tmpOrder;
+	private int[] tmpKeys;
+	private int[] tmpKeys2;
+	private final int[] counts = new int[256];
+	private int[] visible;
+	private int[] stamps;
+	private int stamp;
+	private int sortedSize;
+
+	public double resortDistance;
+	private boolean valid;
+	private Order lastOrder;
+	private double lastX, lastY, lastZ;
+
+	public RenderQueue(int capacity) {
+		this.items = new Object[capacity];
+		this.x = new double[capacity];
+		this.y = new double[capacity];
+		this.z = new double[capacity];
+		this.bounds = new BoundsBatch(capacity);
+		this.distances = new float[capacity];
+		this.keys = new int[capacity];
+		this.order = new int[capacity];
+		this.tmpOrder = new int[capacity];
+		this.tmpKeys = new int[capacity];
+		this.tmpKeys2 = new int[capacity];
+		this.visible = new int[capacity];
+		this.stamps = new int[capacity];
+		this.resortDistance = RESORT_DISTANCE;
+	}
+
+	public RenderQueue() {
+		this(16);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes everything, next {@link #sort} is always a full one
+	 */
+	public void clear() {
+		Arrays.fill(items, 0, size, null);
+		size = 0;
+		sortedSize = 0;
+		bounds.clear();
+		valid = false;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (items.length < capacity) {
+			int c = Math.max(capacity, items.length + (items.length >> 1));
+			items = Arrays.copyOf(items, c);
+			x = Arrays.copyOf(x, c);
+			y = Arrays.copyOf(y, c);
+			z = Arrays.copyOf(z, c);
+			distances = Arrays.copyOf(distances, c);
+			keys = Arrays.copyOf(keys, c);
+			order = Arrays.copyOf(order, c);
+			tmpOrder = Arrays.copyOf(tmpOrder, c);
+			tmpKeys = Arrays.copyOf(tmpKeys, c);
+			tmpKeys2 = Arrays.copyOf(tmpKeys2, c);
+			visible = Arrays.copyOf(visible, c);
+			stamps = Arrays.copyOf(stamps, c);
+		}
+	}
+
+	/**
+	 * Adds an item sorted by the given position and culled by the given box
+	 */
+	public int add(T item, double x, double y, double z, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		int i = size;
+		ensureCapacity(i + 1);
+		items[i] = item;
+		this.x[i] = x;
+		this.y[i] = y;
+		this.z[i] = z;
+		bounds.add(minX, minY, minZ, maxX, maxY, maxZ);
+		size = i + 1;
+		// Indices stay stable, so new items only need to be merged into the previous order
+		return i;
+	}
+
+	/**
+	 * Adds an item that is never culled
+	 */
+	public int add(T item, double x, double y, double z) {
+		double inf = Double.POSITIVE_INFINITY;
+		return add(item, x, y, z, -inf, -inf, -inf, inf, inf, inf);
+	}
+
+	public int add(T item, Vec3 pos) {
+		return add(item, pos.x, pos.y, pos.z);
+	}
+
+	public int add(T item, PositionGetter<T> position) {
+		return add(item, position.get(item));
+	}
+
+	/**
+	 * Adds an item culled by {@link Shape#bounds()} at the position the shape will be built at
+	 */
+	public int add(T item, Shape shape, double x, double y, double z) {
+		var b = shape.bounds();
+
+		if (b.isInfinite()) {
+			return add(item, x, y, z);
+		}
+
+		return add(item, x, y, z, x + b.minX, y + b.minY, z + b.minZ, x + b.maxX, y + b.maxY, z + b.maxZ);
+	}
+
+	/**
+	 * Forces the next {@link #sort} to be a full one, e.g. after items moved
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	public void sort(double camX, double camY, double camZ, Order order) {
+		sort(camX, camY, camZ, order, null);
+	}
+
+	public void sort(Vec3 camera, Order order) {
+		sort(camera.x, camera.y, camera.z, order, null);
+	}
+
+	/**
+	 * Orders visible items by distance to the camera. Afterward {@link #sortedSize()} items are available through {@link #get(int)}
+	 *
+	 * @param frustum if not null, items whose bounds are outside of it are left out
+	 */
+	public void sort(double camX, double camY, double camZ, Order order, @Nullable FrustumPlanes frustum) {
+		int count;
+
+		if (frustum != null) {
+			count = frustum.cull(bounds, visible);
+		} else {
+			count = size;
+
+			for (int i = 0; i < count; i++) {
+				visible[i] = i;
+			}
+		}
+
+		var dist = distances;
+		var key = keys;
+		boolean backToFront = order == Order.BACK_TO_FRONT;
+
+		for (int j = 0; j < count; j++) {
+			int i = visible[j];
+			double dx = x[i] - camX;
+			double dy = y[i] - camY;
+			double dz = z[i] - camZ;
+			float d = (float) (dx * dx + dy * dy + dz * dz);
+			dist[i] = d;
+			// Bits of a non-negative float sort the same way as its value, inverting them reverses the order
+			int bits = Float.floatToRawIntBits(d);
+			key[i] = backToFront ? ~bits : bits;
+		}
+
+		double mx = camX - lastX;
+		double my = camY - lastY;
+		double mz = camZ - lastZ;
+
+		if (valid && lastOrder == order && mx * mx + my * my + mz * mz <= resortDistance * resortDistance && resortIncremental(count)) {
+			return;
+		}
+
+		radixSort(count);
+		sortedSize = count;
+		valid = true;
+		lastOrder = order;
+		lastX = camX;
+		lastY = camY;
+		lastZ = camZ;
+	}
+
+	public void sort(Vec3 camera, Order order, @Nullable FrustumPlanes frustum) {
+		sort(camera.x, camera.y, camera.z, order, frustum);
+	}
+
+	/**
+	 * Keeps the previous order of still visible items, appends newly visible ones and fixes up the rest with an insertion sort
+	 *
+	 * @return false if too much changed and a full sort is cheaper
+	 */
+	private boolean resortIncremental(int count) {
+		int s = ++stamp;
+
+		if (s == 0) {
+			Arrays.fill(stamps, 0);
+			s = stamp = 1;
+		}
+
+		for (int j = 0; j < count; j++) {
+			stamps[visible[j]] = s;
+		}
+
+		var o = tmpOrder;
+		int n = 0;
+
+		for (int j = 0; j < sortedSize; j++) {
+			int i = order[j];
+
+			if (i < size && stamps[i] == s) {
+				o[n++] = i;
+				// Mark as taken
+				stamps[i] = s - 1;
+			}
+		}
+
+		int added = count - n;
+
+		if (added > Math.max(8, count >> 3)) {
+			return false;
+		}
+
+		for (int j = 0; j < count; j++) {
+			int i = visible[j];
+
+			if (stamps[i] == s) {
+				o[n++] = i;
+			}
+		}
+
+		var key = keys;
+
+		for (int j = 1; j < n; j++) {
+			int i = o[j];
+			int k = key[i];
+			int p = j - 1;
+
+			// Unsigned compare, as back to front keys have the sign bit set
+			while (p >= 0 && Integer.compareUnsigned(key[o[p]], k) > 0) {
+				o[p + 1] = o[p];
+				p--;
+			}
+
+			o[p + 1] = i;
+		}
+
+		tmpOrder = order;
+		order = o;
+		sortedSize = n;
+		return true;
+	}
+
+	/**
+	 * Stable LSD radix sort of visible indices by their unsigned key, 8 bits per pass. Passes where every key has the same byte are skipped
+	 */
+	private void radixSort(int count) {
+		var src = order;
+		var dst = tmpOrder;
+		var srcKeys = tmpKeys;
+		var dstKeys = tmpKeys2;
+		var c = counts;
+
+		for (int j = 0; j < count; j++) {
+			int i = visible[j];
+			src[j] = i;
+			srcKeys[j] = keys[i];
+		}
+
+		for (int shift = 0; shift < 32; shift += 8) {
+			Arrays.fill(c, 0);
+
+			for (int j = 0; j < count; j++) {
+				c[(srcKeys[j] >>> shift) & 0xFF]++;
+			}
+
+			if (count == 0 || c[(srcKeys[0] >>> shift) & 0xFF] == count) {
+				continue;
+			}
+
+			int sum = 0;
+
+			for (int b = 0; b < 256; b++) {
+				int n = c[b];
+				c[b] = sum;
+				sum += n;
+			}
+
+			for (int j = 0; j < count; j++) {
+				int k = srcKeys[j];
+				int p = c[(k >>> shift) & 0xFF]++;
+				dst[p] = src[j];
+				dstKeys[p] = k;
+			}
+
+			var t = src;
+			src = dst;
+			dst = t;
+			var tk = srcKeys;
+			srcKeys = dstKeys;
+			dstKeys = tk;
+		}
+
+		order = src;
+		tmpOrder = dst;
+		tmpKeys = srcKeys;
+		tmpKeys2 = dstKeys;
+	}
+
+	/**
+	 * Number of items that made it through the last {@link #sort}
+	 */
+	public int sortedSize() {
+		return sortedSize;
+	}
+
+	/**
+	 * @return item at the given position of the last sorted order
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		return (T) items[order[index]];
+	}
+
+	/**
+	 * @return index the item at the given position of the sorted order was added with
+	 */
+	public int indexOf(int index) {
+		return order[index];
+	}
+
+	/**
+	 * @return squared distance to the camera of the item at the given position of the sorted order
+	 */
+	public float distanceSq(int index) {
+		return distances[order[index]];
+	}
+
+	public void forEach(Consumer<? super T> action) {
+		for (int j = 0; j < sortedSize; j++) {
+			action.accept(get(j));
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package dev.latvian.mods.klib.render;
+
+import com.mojang.blaze3d.pipeline.RenderPipeline;
+import com.mojang.blaze3d.systems.RenderPass;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import dev.latvian.mods.klib.color.Color;
+import dev.latvian.mods.klib.gl.StaticBuffers;
+import dev.latvian.mods.klib.shape.SpherePoints;
+import dev.latvian.mods.klib.vertex.VertexBatch;
+import dev.latvian.mods.klib.vertex.VertexCallback;
+import net.minecraft.client.renderer.MultiBufferSource;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Many spheres drawn from the precomputed unit meshes of their {@link SpherePoints}, grouped by detail level.
+ * Each instance is a position, scale and color, expanded from {@link SpherePoints#unitQuads()} a whole mesh at a time.
+ * {@link #draw(RenderPass, RenderPipeline)} uploads every detail level into its own {@link StaticBuffers} once and then draws it with a single call until instances change.
+ * The render pass API has no instanced draws, so instances are expanded on the CPU at upload time instead of in the vertex shader
+ */
+public class SphereInstances implements AutoCloseable {
+	private static class Level {
+		private final SpherePoints points;
+		private float[] data = new float[0];
+		private int size;
+		private boolean dirty;
+
+		@Nullable
+		private StaticBuffers buffers;
+
+		private Level(SpherePoints points) {
+			this.points = points;
+		}
+	}
+
+	// x, y, z, scale, red, green, blue, alpha
+	private static final int STRIDE = 8;
+
+	private final Map<SpherePoints, Level> levels = new LinkedHashMap<>();
+
+	public void add(SpherePoints points, float x, float y, float z, float s, Color color) {
+		var level = levels.computeIfAbsent(points, Level::new);
+		int i = level.size * STRIDE;
+
+		if (i + STRIDE > level.data.length) {
+			level.data = Arrays.copyOf(level.data, Math.max(i + STRIDE, level.data.length * 2));
+		}
+
+		level.data[i] = x;
+		level.data[i + 1] = y;
+		level.data[i + 2] = z;
+		level.data[i + 3] = s;
+		level.data[i + 4] = color.redf();
+		level.data[i + 5] = color.greenf();
+		level.data[i + 6] = color.bluef();
+		level.data[i + 7] = color.alphaf();
+		level.size++;
+		level.dirty = true;
+	}
+
+	public int size() {
+		int size = 0;
+
+		for (var level : levels.values()) {
+			size += level.size;
+		}
+
+		return size;
+	}
+
+	/**
+	 * Removes all instances, their buffers are released on the next upload
+	 */
+	public void clear() {
+		for (var level : levels.values()) {
+			level.size = 0;
+			level.dirty = true;
+		}
+	}
+
+	private static void build(Level level, VertexCallback callback) {
+		var unit = level.points.unitQuads();
+		var batch = VertexBatch.scratch();
+		var d = level.data;
+
+		for (int i = 0; i < level.size; i++) {
+			int j = i * STRIDE;
+			unit.translateScale(d[j], d[j + 1], d[j + 2], d[j + 3], batch);
+			batch.fillColor(d[j + 4], d[j + 5], d[j + 6], d[j + 7]);
+			batch.emit(callback);
+		}
+	}
+
+	/**
+	 * Emits every instance as quads with position, color, texture and normal
+	 */
+	public void build(VertexCallback callback) {
+		for (var level : levels.values()) {
+			build(level, callback);
+		}
+	}
+
+	public void quads(PoseStack ms, MultiBufferSource buffers, BufferSupplier type, boolean cull) {
+		build(ms.last().transform(type.quads(buffers, cull)));
+	}
+
+	/**
+	 * Rebuilds the buffers of every detail level that changed since the last upload
+	 */
+	public void upload() {
+		RenderSystem.assertOnRenderThread();
+
+		for (var level : levels.values()) {
+			if (!level.dirty) {
+				continue;
+			}
+
+			level.dirty = false;
+
+			if (level.buffers != null) {
+				level.buffers.close();
+				level.buffers = null;
+			}
+
+			if (level.size == 0) {
+				continue;
+			}
+
+			var format = DefaultVertexFormat.POSITION_COLOR;
+			int vertices = level.points.unitQuads().size * level.size;
+
+			try (var memory = new ByteBufferBuilder(format.getVertexSize() * vertices)) {
+				var builder = new BufferBuilder(memory, VertexFormat.Mode.QUADS, format);
+				build(level, builder);
+
+				try (var mesh = builder.build()) {
+					if (mesh != null) {
+						level.buffers = StaticBuffers.of(mesh, () -> "KLib sphere instances " + level.points.hdetail + "x" + level.points.vdetail);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws all instances with one draw call per detail level. The pipeline has to use {@link DefaultVertexFormat#POSITION_COLOR} quads, e.g. {@link DebugRenderPipelines#QUADS}
+	 */
+	public void draw(RenderPass renderPass, RenderPipeline pipeline) {
+		upload();
+
+		for (var level : levels.values()) {
+			if (level.buffers != null) {
+				level.buffers.draw(renderPass, pipeline);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		for (var level : levels.values()) {
+			if (level.buffers != null) {
+				level.buffers.close();
+				level.buffers = null;
+			}
+
+			level.dirty = level.size > 0;
+		}
+	}
+}
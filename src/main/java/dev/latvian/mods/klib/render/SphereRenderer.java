@@ -26,6 +26,10 @@ public interface SphereRenderer {
 		points.buildQuads(x, y, z, s, ms.last().transform(callback).withColor(color));
 	}
 
+	static void quads(PoseStack ms, SphereInstances instances, MultiBufferSource buffers, BufferSupplier type, boolean cull) {
+		instances.quads(ms, buffers, type, cull);
+	}
+
 	static void lines(PoseStack ms, float x, float y, float z, float s, SpherePoints points, Color color, VertexCallback callback) {
 		points.buildLines(x, y, z, s, ms.last().transform(callback).withColor(color));
 	}
@@ -7,6 +7,7 @@ import dev.latvian.mods.klib.vertex.VertexCallback;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.phys.AABB;
 import org.joml.Vector3fc;
 
 public record CircleShape(float radius) implements Shape {
@@ -39,31 +40,57 @@ public record CircleShape(float radius) implements Shape {
 
 	@Override
 	public void buildLines(float x, float y, float z, VertexCallback callback) {
+		buildSegmentLines(x, y, z, callback, LevelOfDetail.MAX_SEGMENTS);
+	}
+
+	@Override
+	public void buildQuads(float x, float y, float z, VertexCallback callback) {
+		buildSegmentQuads(x, y, z, callback, LevelOfDetail.MAX_SEGMENTS);
+	}
+
+	@Override
+	public void buildLines(float x, float y, float z, VertexCallback callback, float pixelsPerBlock) {
+		buildSegmentLines(x, y, z, callback, LevelOfDetail.circleSegments(radius * pixelsPerBlock));
+	}
+
+	@Override
+	public void buildQuads(float x, float y, float z, VertexCallback callback, float pixelsPerBlock) {
+		buildSegmentQuads(x, y, z, callback, LevelOfDetail.circleSegments(radius * pixelsPerBlock));
+	}
+
+	public void buildSegmentLines(float x, float y, float z, VertexCallback callback, int segments) {
 		float r = Math.max(radius, 0F);
-		double rs = Math.PI * 2D / 96D;
+		var circle = LevelOfDetail.circle(segments);
 
-		for (int i = 0; i < 96; i++) {
-			float cx = (float) (Math.cos(i * rs) * r);
-			float cz = (float) (Math.sin(i * rs) * r);
-			float nx = (float) (Math.cos((i + 1D) * rs) * r);
-			float nz = (float) (Math.sin((i + 1D) * rs) * r);
+		for (int i = 0; i < segments; i++) {
+			float cx = (float) (circle[i * 2] * r);
+			float cz = (float) (circle[i * 2 + 1] * r);
+			float nx = (float) (circle[i * 2 + 2] * r);
+			float nz = (float) (circle[i * 2 + 3] * r);
 
 			callback.line(x + cx, y, z + cz, x + nx, y, z + nz);
 		}
 	}
 
-	@Override
-	public void buildQuads(float x, float y, float z, VertexCallback callback) {
+	/**
+	 * @param segments at least 2, odd counts are rounded up as every quad covers two segments
+	 */
+	public void buildSegmentQuads(float x, float y, float z, VertexCallback callback, int segments) {
+		if (segments < 2) {
+			throw new IllegalArgumentException("Segments must be at least 2");
+		}
+
+		segments = (segments + 1) & ~1;
 		float r = Math.max(radius, 0F);
-		double rs = Math.PI * 2D / 96D;
+		var circle = LevelOfDetail.circle(segments);
 
-		for (int i = 0; i < 96; i += 2) {
-			float cx = (float) (Math.cos(i * rs) * r);
-			float cz = (float) (Math.sin(i * rs) * r);
-			float nx = (float) (Math.cos((i + 1D) * rs) * r);
-			float nz = (float) (Math.sin((i + 1D) * rs) * r);
-			float nnx = (float) (Math.cos((i + 2D) * rs) * r);
-			float nnz = (float) (Math.sin((i + 2D) * rs) * r);
+		for (int i = 0; i < segments; i += 2) {
+			float cx = (float) (circle[i * 2] * r);
+			float cz = (float) (circle[i * 2 + 1] * r);
+			float nx = (float) (circle[i * 2 + 2] * r);
+			float nz = (float) (circle[i * 2 + 3] * r);
+			float nnx = (float) (circle[i * 2 + 4] * r);
+			float nnz = (float) (circle[i * 2 + 5] * r);
 
 			callback.acceptPos(x, y, z).acceptNormal(0F, 1F, 0F);
 			callback.acceptPos(x + nnx, y, z + nnz).acceptNormal(0F, 1F, 0F);
@@ -72,6 +99,12 @@ public record CircleShape(float radius) implements Shape {
 		}
 	}
 
+	@Override
+	public AABB bounds() {
+		float r = Math.max(radius, 0F);
+		return new AABB(-r, 0D, -r, r, 0D, r);
+	}
+
 	@Override
 	public boolean contains(Vector3fc p) {
 		return p.y() == 0F && p.lengthSquared() <= radius * radius;
@@ -3,11 +3,11 @@ package dev.latvian.mods.klib.shape;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
-import dev.latvian.mods.klib.math.FrustumCheck;
 import dev.latvian.mods.klib.vertex.VertexCallback;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.phys.AABB;
 import org.joml.Vector3fc;
 
 public record CubeShape(float size) implements Shape {
@@ -44,8 +44,8 @@ public record CubeShape(float size) implements Shape {
 	}
 
 	@Override
-	public boolean isVisible(double x, double y, double z, FrustumCheck frustum) {
+	public AABB bounds() {
 		double r = size / 2D;
-		return frustum.isVisible(x - r, y - r, z - r, x + r, y + r, z + r);
+		return new AABB(-r, -r, -r, r, r, r);
 	}
 }
@@ -2,12 +2,12 @@ package dev.latvian.mods.klib.shape;
 
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
-import dev.latvian.mods.klib.math.FrustumCheck;
 import dev.latvian.mods.klib.math.Rotation;
 import dev.latvian.mods.klib.math.Vec3f;
 import dev.latvian.mods.klib.vertex.VertexCallback;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.phys.AABB;
 import org.joml.Matrix3f;
 import org.joml.Matrix4f;
 import org.joml.Vector3f;
@@ -88,10 +88,20 @@ public record CuboidShape(Vec3f size, Rotation rotation) implements Shape {
 	}
 
 	@Override
-	public boolean isVisible(double x, double y, double z, FrustumCheck frustum) {
+	public AABB bounds() {
 		double sx = size.x() / 2D;
 		double sy = size.y() / 2D;
 		double sz = size.z() / 2D;
-		return frustum.isVisible(x - sx, y - sy, z - sz, x + sx, y + sy, z + sz);
+
+		if (!rotation.isNone()) {
+			// Extents of the rotated box are the half sizes projected through the absolute rotation matrix
+			var m = rotation.rotateYXZ(new Matrix3f());
+			double ex = Math.abs(m.m00()) * sx + Math.abs(m.m10()) * sy + Math.abs(m.m20()) * sz;
+			double ey = Math.abs(m.m01()) * sx + Math.abs(m.m11()) * sy + Math.abs(m.m21()) * sz;
+			double ez = Math.abs(m.m02()) * sx + Math.abs(m.m12()) * sy + Math.abs(m.m22()) * sz;
+			return new AABB(-ex, -ey, -ez, ex, ey, ez);
+		}
+
+		return new AABB(-sx, -sy, -sz, sx, sy, sz);
 	}
 }
@@ -0,0 +1,78 @@
+package dev.latvian.mods.klib.shape;
+
+/**
+ * Picks tessellation detail from how large a shape appears on screen. Detail levels are quantized to steps of {@link #SEGMENT_STEP} segments,
+ * so there's only a small fixed number of them and all of them are computed up front.
+ */
+public final class LevelOfDetail {
+	/**
+	 * Target length of a single circle edge on screen, in pixels
+	 */
+	public static final float EDGE_PIXELS = 4F;
+	public static final int SEGMENT_STEP = 8;
+	public static final int MIN_SEGMENTS = 8;
+	public static final int MAX_SEGMENTS = 96;
+
+	private static final double[][] CIRCLES = new double[MAX_SEGMENTS / SEGMENT_STEP + 1][];
+	private static final SpherePoints[] SPHERES = new SpherePoints[MAX_SEGMENTS / SEGMENT_STEP + 1];
+
+	static {
+		for (int s = MIN_SEGMENTS; s <= MAX_SEGMENTS; s += SEGMENT_STEP) {
+			CIRCLES[s / SEGMENT_STEP] = computeCircle(s);
+			SPHERES[s / SEGMENT_STEP] = SpherePoints.get(s, Math.max(4, s * 3 / 8));
+		}
+	}
+
+	private LevelOfDetail() {
+	}
+
+	/**
+	 * How many pixels one block covers at the given distance from the camera
+	 *
+	 * @param fovY vertical field of view in degrees
+	 */
+	public static float pixelsPerBlock(float distance, float fovY, int viewportHeight) {
+		float f = viewportHeight / (2F * (float) Math.tan(Math.toRadians(fovY) / 2D));
+		return distance <= 0F ? Float.POSITIVE_INFINITY : f / distance;
+	}
+
+	public static int circleSegments(float screenRadius) {
+		if (!(screenRadius < Float.POSITIVE_INFINITY)) {
+			return MAX_SEGMENTS;
+		}
+
+		int s = (int) Math.ceil(Math.PI * 2D * screenRadius / EDGE_PIXELS);
+		s = ((s + SEGMENT_STEP - 1) / SEGMENT_STEP) * SEGMENT_STEP;
+		return Math.clamp(s, MIN_SEGMENTS, MAX_SEGMENTS);
+	}
+
+	/**
+	 * Unit circle as <code>cos, sin</code> pairs for <code>segments + 1</code> points, the last one being the same as the first. The returned array is shared and must not be modified
+	 */
+	public static double[] circle(int segments) {
+		if (segments % SEGMENT_STEP != 0 || segments < MIN_SEGMENTS || segments > MAX_SEGMENTS) {
+			return computeCircle(segments);
+		}
+
+		return CIRCLES[segments / SEGMENT_STEP];
+	}
+
+	private static double[] computeCircle(int segments) {
+		var table = new double[(segments + 1) * 2];
+		double rs = Math.PI * 2D / segments;
+
+		for (int i = 0; i <= segments; i++) {
+			table[i * 2] = Math.cos(i * rs);
+			table[i * 2 + 1] = Math.sin(i * rs);
+		}
+
+		return table;
+	}
+
+	/**
+	 * Sphere with {@link #circleSegments(float)} columns and 3/8 as many rows, which matches {@link SpherePoints#M} at 24 segments
+	 */
+	public static SpherePoints sphere(float screenRadius) {
+		return SPHERES[circleSegments(screenRadius) / SEGMENT_STEP];
+	}
+}
@@ -8,6 +8,7 @@ import dev.latvian.mods.klib.vertex.VertexCallback;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.phys.AABB;
 import org.joml.Vector3fc;
 
 import java.util.function.Function;
@@ -38,11 +39,33 @@ public interface Shape {
 
 	void buildQuads(float x, float y, float z, VertexCallback callback);
 
+	/**
+	 * Tessellates with detail picked from how many pixels a block covers at the shape's distance, see {@link LevelOfDetail#pixelsPerBlock(float, float, int)}
+	 */
+	default void buildLines(float x, float y, float z, VertexCallback callback, float pixelsPerBlock) {
+		buildLines(x, y, z, callback);
+	}
+
+	/**
+	 * Tessellates with detail picked from how many pixels a block covers at the shape's distance, see {@link LevelOfDetail#pixelsPerBlock(float, float, int)}
+	 */
+	default void buildQuads(float x, float y, float z, VertexCallback callback, float pixelsPerBlock) {
+		buildQuads(x, y, z, callback);
+	}
+
 	default boolean contains(Vector3fc p) {
 		return false;
 	}
 
+	/**
+	 * Box around everything this shape tessellates, relative to its position. {@link AABB#INFINITE} if unknown
+	 */
+	default AABB bounds() {
+		return AABB.INFINITE;
+	}
+
 	default boolean isVisible(double x, double y, double z, FrustumCheck frustum) {
-		return true;
+		var b = bounds();
+		return b.isInfinite() || frustum.isVisible(x + b.minX, y + b.minY, z + b.minZ, x + b.maxX, y + b.maxY, z + b.maxZ);
 	}
 }
@@ -1,7 +1,8 @@
 package dev.latvian.mods.klib.shape;
 
+import dev.latvian.mods.klib.vertex.VertexBatch;
 import dev.latvian.mods.klib.vertex.VertexCallback;
-import org.joml.Vector3f;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 
 public class SpherePoints {
 	public static final SpherePoints L = new SpherePoints(9, 7);
@@ -9,6 +10,17 @@ public class SpherePoints {
 	public static final SpherePoints H = new SpherePoints(36, 16);
 	public static final SpherePoints X = new SpherePoints(108, 27);
 
+	public record CacheStats(int entries, long hits, long misses, long evictions) {
+	}
+
+	public static final int CACHE_SIZE = 64;
+
+	// Least recently used first
+	private static final Long2ObjectLinkedOpenHashMap<SpherePoints> CACHE = new Long2ObjectLinkedOpenHashMap<>();
+	private static long cacheHits;
+	private static long cacheMisses;
+	private static long cacheEvictions;
+
 	public static SpherePoints get(int hd, int vd) {
 		if (hd == 9 && vd == 7) { // 1.29
 			return L;
@@ -19,7 +31,54 @@ public class SpherePoints {
 		} else if (hd == 108 && vd == 27) { // 4.00
 			return X;
 		} else {
-			return new SpherePoints(hd, vd);
+			return cached(hd, vd);
+		}
+	}
+
+	private static SpherePoints cached(int hd, int vd) {
+		long key = ((long) hd << 32) | (vd & 0xFFFFFFFFL);
+
+		synchronized (CACHE) {
+			var points = CACHE.getAndMoveToLast(key);
+
+			if (points != null) {
+				cacheHits++;
+				return points;
+			}
+
+			cacheMisses++;
+		}
+
+		// Computed outside of the lock, if another thread got there first its instance is used instead
+		var created = new SpherePoints(hd, vd);
+
+		synchronized (CACHE) {
+			var points = CACHE.getAndMoveToLast(key);
+
+			if (points != null) {
+				return points;
+			}
+
+			CACHE.putAndMoveToLast(key, created);
+
+			while (CACHE.size() > CACHE_SIZE) {
+				CACHE.removeFirst();
+				cacheEvictions++;
+			}
+
+			return created;
+		}
+	}
+
+	public static CacheStats cacheStats() {
+		synchronized (CACHE) {
+			return new CacheStats(CACHE.size(), cacheHits, cacheMisses, cacheEvictions);
+		}
+	}
+
+	public static void clearCache() {
+		synchronized (CACHE) {
+			CACHE.clear();
 		}
 	}
 
@@ -33,18 +92,28 @@ public class SpherePoints {
 	public final int vdetail;
 	public final Col[] cols;
 	public final Row[] rows;
-	public final Vector3f[][] normals;
+	/**
+	 * One <code>x, y, z</code> normal per face, see {@link #normalIndex(int, int)}
+	 */
+	public final float[] normals;
+	private volatile VertexBatch unitQuads;
 
 	private SpherePoints(int hd, int vd) {
 		this.hdetail = hd;
 		this.vdetail = vd;
 		this.cols = new Col[hd + 1];
 		this.rows = new Row[vd + 1];
-		this.normals = new Vector3f[hd][vd];
+		this.normals = new float[hd * vd * 3];
 		calculate();
 	}
 
+	public int normalIndex(int col, int row) {
+		return (col * vdetail + row) * 3;
+	}
+
 	public void calculate() {
+		unitQuads = null;
+
 		for (int i = 0; i < cols.length; i++) {
 			double d = i / (cols.length - 1D);
 			this.cols[i] = new Col(i, (float) (1D - d), (float) (Math.cos(d * Math.PI * 2D) * 0.5D), (float) (Math.sin(d * Math.PI * 2D) * 0.5D));
@@ -60,13 +129,11 @@ public class SpherePoints {
 
 		for (int r = 0; r < rows.length - 1; r++) {
 			for (int c = 0; c < cols.length - 1; c++) {
-				var cr = rows[r];
-				var nr = rows[r + 1];
-				var cc = cols[c];
-				var nc = cols[c + 1];
-
 				// var n = new Vector3f(cr.x * nc.m, cr.y, cr.z * nc.m).cross(new Vector3f(nr.x * cc.m, nr.y, nr.z * cc.m)).normalize();
-				normals[c][r] = new Vector3f(0F, 1F, 0F);
+				int n = normalIndex(c, r);
+				normals[n] = 0F;
+				normals[n + 1] = 1F;
+				normals[n + 2] = 0F;
 			}
 		}
 
@@ -89,29 +156,57 @@ public class SpherePoints {
 		 */
 	}
 
-	public void buildQuads(float x, float y, float z, float s, VertexCallback callback) {
-		for (int r = 0; r < rows.length - 1; r++) {
-			for (int c = 0; c < cols.length - 1; c++) {
-				var cr = rows[r];
-				var nr = rows[r + 1];
-				var cc = cols[c];
-				var nc = cols[c + 1];
-				var nv = normals[c][r];
+	/**
+	 * Quads of a sphere with diameter 1 centered at origin, with texture and normals
+	 */
+	public VertexBatch unitQuads() {
+		var batch = unitQuads;
+
+		if (batch == null) {
+			batch = new VertexBatch((rows.length - 1) * (cols.length - 1) * 4, false, true, true);
+
+			for (int r = 0; r < rows.length - 1; r++) {
+				for (int c = 0; c < cols.length - 1; c++) {
+					var cr = rows[r];
+					var nr = rows[r + 1];
+					var cc = cols[c];
+					var nc = cols[c + 1];
+					int n = normalIndex(c, r);
+					float nx = normals[n];
+					float ny = normals[n + 1];
+					float nz = normals[n + 2];
+
+					var u0l = cc.u();
+					var v0l = cr.v();
+					var u1l = nc.u();
+					var v1l = nr.v();
+
+					int i = batch.add(cc.x() * nr.m(), nr.y(), cc.z() * nr.m());
+					batch.setTex(i, u0l, v1l);
+					batch.setNormal(i, nx, ny, nz);
+
+					i = batch.add(cc.x() * cr.m(), cr.y(), cc.z() * cr.m());
+					batch.setTex(i, u0l, v0l);
+					batch.setNormal(i, nx, ny, nz);
+
+					i = batch.add(nc.x() * cr.m(), cr.y(), nc.z() * cr.m());
+					batch.setTex(i, u1l, v0l);
+					batch.setNormal(i, nx, ny, nz);
+
+					i = batch.add(nc.x() * nr.m(), nr.y(), nc.z() * nr.m());
+					batch.setTex(i, u1l, v1l);
+					batch.setNormal(i, nx, ny, nz);
+				}
+			}
 
-				var u0l = cc.u();
-				var v0l = cr.v();
-				var u1l = nc.u();
-				var v1l = nr.v();
+			unitQuads = batch;
+		}
 
-				var ny = y + nr.y() * s;
-				var cy = y + cr.y() * s;
+		return batch;
+	}
 
-				callback.acceptPos(x + cc.x() * nr.m() * s, ny, z + cc.z() * nr.m() * s).acceptTex(u0l, v1l).acceptNormal(nv.x, nv.y, nv.z);
-				callback.acceptPos(x + cc.x() * cr.m() * s, cy, z + cc.z() * cr.m() * s).acceptTex(u0l, v0l).acceptNormal(nv.x, nv.y, nv.z);
-				callback.acceptPos(x + nc.x() * cr.m() * s, cy, z + nc.z() * cr.m() * s).acceptTex(u1l, v0l).acceptNormal(nv.x, nv.y, nv.z);
-				callback.acceptPos(x + nc.x() * nr.m() * s, ny, z + nc.z() * nr.m() * s).acceptTex(u1l, v1l).acceptNormal(nv.x, nv.y, nv.z);
-			}
-		}
+	public void buildQuads(float x, float y, float z, float s, VertexCallback callback) {
+		unitQuads().translateScale(x, y, z, s, VertexBatch.scratch()).emit(callback);
 	}
 
 	public void buildLines(float x, float y, float z, float s, VertexCallback callback) {
@@ -7,6 +7,7 @@ import dev.latvian.mods.klib.vertex.VertexCallback;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.phys.AABB;
 import org.joml.Vector3fc;
 
 public record SphereShape(float radius) implements Shape {
@@ -34,6 +35,21 @@ public record SphereShape(float radius) implements Shape {
 		SpherePoints.M.buildQuads(x, y, z, radius * 2F, callback);
 	}
 
+	@Override
+	public void buildLines(float x, float y, float z, VertexCallback callback, float pixelsPerBlock) {
+		LevelOfDetail.sphere(radius * pixelsPerBlock).buildLines(x, y, z, radius * 2F, callback);
+	}
+
+	@Override
+	public void buildQuads(float x, float y, float z, VertexCallback callback, float pixelsPerBlock) {
+		LevelOfDetail.sphere(radius * pixelsPerBlock).buildQuads(x, y, z, radius * 2F, callback);
+	}
+
+	@Override
+	public AABB bounds() {
+		return new AABB(-radius, -radius, -radius, radius, radius, radius);
+	}
+
 	@Override
 	public boolean contains(Vector3fc p) {
 		return p.lengthSquared() <= radius * radius;
@@ -8,6 +8,7 @@ import dev.latvian.mods.klib.vertex.VertexCallback;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.phys.AABB;
 import org.joml.Vector3fc;
 
 import java.util.HashMap;
@@ -87,6 +88,11 @@ public class UnitShape implements Shape {
 		return shape.contains(p);
 	}
 
+	@Override
+	public AABB bounds() {
+		return shape.bounds();
+	}
+
 	@Override
 	public boolean isVisible(double x, double y, double z, FrustumCheck frustum) {
 		return shape.isVisible(x, y, z, frustum);
@@ -0,0 +1,246 @@
+package dev.latvian.mods.klib.vertex;
+
+import java.util.Arrays;
+
+/**
+ * Single callback built by {@link VertexPipeline}. Every attribute costs one call into the target regardless of how many decorators were fused.
+ * Chained calls on the result of {@link #acceptPos(float, float, float)} come back here, so they get the same treatment as direct ones.
+ */
+public final class FusedVertexCallback implements VertexCallback {
+	private final VertexPipeline pipeline;
+	private final VertexCallback target;
+	private final boolean tex, col, normal, light, overlay;
+	private final boolean transformPositions;
+	private final float m00, m01, m02, m10, m11, m12, m20, m21, m22, m30, m31, m32;
+	private final boolean transformNormals, normalize;
+	private final float n00, n01, n02, n10, n11, n12, n20, n21, n22;
+	private final float texScaleU, texOffsetU, texScaleV, texOffsetV;
+	private final boolean hasColor;
+	private final float r, g, b, a;
+	private final boolean hasLight;
+	private final int lightU, lightV;
+	private final boolean hasOverlay;
+	private final int overlayU, overlayV;
+	private VertexBatch scratch;
+
+	FusedVertexCallback(VertexPipeline p) {
+		this.pipeline = p;
+		this.target = p.target;
+		this.tex = (p.passed & VertexPipeline.TEX) != 0;
+		this.col = (p.passed & VertexPipeline.COL) != 0;
+		this.normal = (p.passed & VertexPipeline.NORMAL) != 0;
+		this.light = (p.passed & VertexPipeline.LIGHT) != 0;
+		this.overlay = (p.passed & VertexPipeline.OVERLAY) != 0;
+
+		var m = p.posMatrix;
+		this.transformPositions = p.transformPositions;
+		this.m00 = m.m00();
+		this.m01 = m.m01();
+		this.m02 = m.m02();
+		this.m10 = m.m10();
+		this.m11 = m.m11();
+		this.m12 = m.m12();
+		this.m20 = m.m20();
+		this.m21 = m.m21();
+		this.m22 = m.m22();
+		this.m30 = m.m30();
+		this.m31 = m.m31();
+		this.m32 = m.m32();
+
+		var n = p.normalMatrix;
+		this.transformNormals = p.transformNormals;
+		this.normalize = p.normalize;
+		this.n00 = n.m00();
+		this.n01 = n.m01();
+		this.n02 = n.m02();
+		this.n10 = n.m10();
+		this.n11 = n.m11();
+		this.n12 = n.m12();
+		this.n20 = n.m20();
+		this.n21 = n.m21();
+		this.n22 = n.m22();
+
+		this.texScaleU = p.texScaleU;
+		this.texOffsetU = p.texOffsetU;
+		this.texScaleV = p.texScaleV;
+		this.texOffsetV = p.texOffsetV;
+		this.hasColor = p.hasColor;
+		this.r = p.r;
+		this.g = p.g;
+		this.b = p.b;
+		this.a = p.a;
+		this.hasLight = p.hasLight;
+		this.lightU = p.lightU;
+		this.lightV = p.lightV;
+		this.hasOverlay = p.hasOverlay;
+		this.overlayU = p.overlayU;
+		this.overlayV = p.overlayV;
+	}
+
+	public VertexCallback target() {
+		return target;
+	}
+
+	VertexPipeline pipeline() {
+		return pipeline.copy();
+	}
+
+	@Override
+	public VertexCallback acceptPos(float x, float y, float z) {
+		VertexCallback v;
+
+		if (transformPositions) {
+			v = target.acceptPos(
+				m00 * x + m10 * y + m20 * z + m30,
+				m01 * x + m11 * y + m21 * z + m31,
+				m02 * x + m12 * y + m22 * z + m32
+			);
+		} else {
+			v = target.acceptPos(x, y, z);
+		}
+
+		if (hasColor) {
+			v = v.acceptCol(r, g, b, a);
+		}
+
+		if (hasLight) {
+			v = v.acceptLight(lightU, lightV);
+		}
+
+		if (hasOverlay) {
+			v.acceptOverlay(overlayU, overlayV);
+		}
+
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptTex(float u, float v) {
+		if (tex) {
+			target.acceptTex(texScaleU * u + texOffsetU, texScaleV * v + texOffsetV);
+		}
+
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptCol(float r, float g, float b, float a) {
+		if (col) {
+			target.acceptCol(r, g, b, a);
+		}
+
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptNormal(float nx, float ny, float nz) {
+		if (!normal) {
+			return this;
+		}
+
+		float x = nx;
+		float y = ny;
+		float z = nz;
+
+		if (transformNormals) {
+			x = n00 * nx + n10 * ny + n20 * nz;
+			y = n01 * nx + n11 * ny + n21 * nz;
+			z = n02 * nx + n12 * ny + n22 * nz;
+		}
+
+		if (normalize) {
+			float lenSq = x * x + y * y + z * z;
+
+			if (lenSq > 0F) {
+				float inv = org.joml.Math.invsqrt(lenSq);
+				x *= inv;
+				y *= inv;
+				z *= inv;
+			}
+		}
+
+		target.acceptNormal(x, y, z);
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptLight(int u, int v) {
+		if (light) {
+			target.acceptLight(u, v);
+		}
+
+		return this;
+	}
+
+	@Override
+	public VertexCallback acceptOverlay(int u, int v) {
+		if (overlay) {
+			target.acceptOverlay(u, v);
+		}
+
+		return this;
+	}
+
+	@Override
+	public void acceptBatch(VertexBatch batch, int from, int to) {
+		if (hasLight || hasOverlay) {
+			// Batches can't carry light or overlay, so these still go vertex by vertex
+			VertexCallback.super.acceptBatch(batch, from, to);
+			return;
+		}
+
+		int n = to - from;
+
+		if (scratch == null) {
+			scratch = new VertexBatch(n);
+		}
+
+		var out = scratch.reset(n, hasColor || (col && batch.color), tex && batch.tex, normal && batch.normal);
+
+		var kernel = VertexTransformKernel.DEFAULT;
+
+		if (transformPositions) {
+			kernel.transformPositions(pipeline.posMatrix, batch.x, batch.y, batch.z, from, out.x, out.y, out.z, 0, n);
+		} else {
+			System.arraycopy(batch.x, from, out.x, 0, n);
+			System.arraycopy(batch.y, from, out.y, 0, n);
+			System.arraycopy(batch.z, from, out.z, 0, n);
+		}
+
+		if (hasColor) {
+			Arrays.fill(out.r, 0, n, r);
+			Arrays.fill(out.g, 0, n, g);
+			Arrays.fill(out.b, 0, n, b);
+			Arrays.fill(out.a, 0, n, a);
+		} else if (out.color) {
+			System.arraycopy(batch.r, from, out.r, 0, n);
+			System.arraycopy(batch.g, from, out.g, 0, n);
+			System.arraycopy(batch.b, from, out.b, 0, n);
+			System.arraycopy(batch.a, from, out.a, 0, n);
+		}
+
+		if (out.tex) {
+			for (int i = 0; i < n; i++) {
+				out.u[i] = texScaleU * batch.u[from + i] + texOffsetU;
+				out.v[i] = texScaleV * batch.v[from + i] + texOffsetV;
+			}
+		}
+
+		if (out.normal) {
+			if (transformNormals) {
+				kernel.transformNormals(pipeline.normalMatrix, normalize, batch.nx, batch.ny, batch.nz, from, out.nx, out.ny, out.nz, 0, n);
+			} else {
+				System.arraycopy(batch.nx, from, out.nx, 0, n);
+				System.arraycopy(batch.ny, from, out.ny, 0, n);
+				System.arraycopy(batch.nz, from, out.nz, 0, n);
+
+				if (normalize) {
+					kernel.normalize(out.nx, out.ny, out.nz, 0, n);
+				}
+			}
+		}
+
+		out.size = n;
+		target.acceptBatch(out, 0, n);
+	}
+}
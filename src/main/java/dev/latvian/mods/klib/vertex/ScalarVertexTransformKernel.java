@@ -0,0 +1,69 @@
+package dev.latvian.mods.klib.vertex;
+
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix3fc;
+import org.joml.Matrix4fc;
+
+public final class ScalarVertexTransformKernel implements VertexTransformKernel {
+	@Nullable
+	static VertexTransformKernel loadVector() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return null;
+		}
+
+		try {
+			// Compiled in the vector source set, so it can't be referenced directly
+			return (VertexTransformKernel) Class.forName("dev.latvian.mods.klib.vertex.VectorVertexTransformKernel").getConstructor().newInstance();
+		} catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	@Override
+	public void transformPositions(Matrix4fc matrix, float[] x, float[] y, float[] z, int srcOffset, float[] ox, float[] oy, float[] oz, int dstOffset, int count) {
+		float m00 = matrix.m00(), m01 = matrix.m01(), m02 = matrix.m02();
+		float m10 = matrix.m10(), m11 = matrix.m11(), m12 = matrix.m12();
+		float m20 = matrix.m20(), m21 = matrix.m21(), m22 = matrix.m22();
+		float m30 = matrix.m30(), m31 = matrix.m31(), m32 = matrix.m32();
+
+		for (int i = 0; i < count; i++) {
+			float px = x[srcOffset + i];
+			float py = y[srcOffset + i];
+			float pz = z[srcOffset + i];
+			ox[dstOffset + i] = m00 * px + m10 * py + m20 * pz + m30;
+			oy[dstOffset + i] = m01 * px + m11 * py + m21 * pz + m31;
+			oz[dstOffset + i] = m02 * px + m12 * py + m22 * pz + m32;
+		}
+	}
+
+	@Override
+	public void transformNormals(Matrix3fc matrix, boolean normalize, float[] x, float[] y, float[] z, int srcOffset, float[] ox, float[] oy, float[] oz, int dstOffset, int count) {
+		float m00 = matrix.m00(), m01 = matrix.m01(), m02 = matrix.m02();
+		float m10 = matrix.m10(), m11 = matrix.m11(), m12 = matrix.m12();
+		float m20 = matrix.m20(), m21 = matrix.m21(), m22 = matrix.m22();
+
+		for (int i = 0; i < count; i++) {
+			float nx = x[srcOffset + i];
+			float ny = y[srcOffset + i];
+			float nz = z[srcOffset + i];
+			float rx = m00 * nx + m10 * ny + m20 * nz;
+			float ry = m01 * nx + m11 * ny + m21 * nz;
+			float rz = m02 * nx + m12 * ny + m22 * nz;
+
+			if (normalize) {
+				float lenSq = rx * rx + ry * ry + rz * rz;
+
+				if (lenSq > 0F) {
+					float inv = 1F / (float) Math.sqrt(lenSq);
+					rx *= inv;
+					ry *= inv;
+					rz *= inv;
+				}
+			}
+
+			ox[dstOffset + i] = rx;
+			oy[dstOffset + i] = ry;
+			oz[dstOffset + i] = rz;
+		}
+	}
+}
@@ -14,4 +14,12 @@ public record TransformedNormalsVertexCallback(VertexCallback delegate, Matrix3f
 
 		return delegate.acceptNormal(temp.x, temp.y, temp.z);
 	}
+
+	/**
+	 * Passed through unchanged, same as chained calls - normals given after {@link #acceptPos(float, float, float)} go to the delegate's vertex directly
+	 */
+	@Override
+	public void acceptBatch(VertexBatch batch, int from, int to) {
+		delegate.acceptBatch(batch, from, to);
+	}
 }
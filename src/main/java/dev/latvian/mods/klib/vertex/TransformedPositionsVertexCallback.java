@@ -10,4 +10,9 @@ public record TransformedPositionsVertexCallback(VertexCallback delegate, Matrix
 		temp.mulPosition(matrix);
 		return delegate.acceptPos(temp.x, temp.y, temp.z);
 	}
+
+	@Override
+	public void acceptBatch(VertexBatch batch, int from, int to) {
+		delegate.acceptBatch(batch.transform(from, to, matrix, null, false, VertexBatch.scratch()), 0, to - from);
+	}
 }
@@ -22,4 +22,12 @@ public record TransformedVertexCallback(VertexCallback delegate, Matrix4fc posMa
 
 		return delegate.acceptNormal(temp.x, temp.y, temp.z);
 	}
+
+	/**
+	 * Only positions are transformed, same as chained calls - normals given after {@link #acceptPos(float, float, float)} go to the delegate's vertex directly
+	 */
+	@Override
+	public void acceptBatch(VertexBatch batch, int from, int to) {
+		delegate.acceptBatch(batch.transform(from, to, posMatrix, null, false, VertexBatch.scratch()), 0, to - from);
+	}
 }
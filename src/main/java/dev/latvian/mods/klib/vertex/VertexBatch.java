@@ -0,0 +1,215 @@
+package dev.latvian.mods.klib.vertex;
+
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix3fc;
+import org.joml.Matrix4fc;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays vertex data - one array per component, so per-attribute loops stay simple enough for the JIT to vectorize.
+ * Position is always present, color, texture and normal are optional. Arrays may be longer than {@link #size}
+ */
+public final class VertexBatch {
+	private static final ThreadLocal<VertexBatch> SCRATCH = ThreadLocal.withInitial(() -> new VertexBatch(0));
+
+	/**
+	 * Per-thread batch for intermediate results. Only valid until the next call that also uses it
+	 */
+	public static VertexBatch scratch() {
+		return SCRATCH.get();
+	}
+
+	public float[] x, y, z;
+	public float[] r, g, b, a;
+	public float[] u, v;
+	public float[] nx, ny, nz;
+	public boolean color, tex, normal;
+	public int size;
+
+	public VertexBatch(int capacity, boolean color, boolean tex, boolean normal) {
+		this.x = new float[capacity];
+		this.y = new float[capacity];
+		this.z = new float[capacity];
+		this.r = this.g = this.b = this.a = this.u = this.v = this.nx = this.ny = this.nz = new float[0];
+		reset(capacity, color, tex, normal);
+	}
+
+	public VertexBatch(int capacity) {
+		this(capacity, false, false, false);
+	}
+
+	/**
+	 * Clears the batch and makes sure every enabled attribute can hold <code>capacity</code> vertices. Arrays of disabled attributes are kept for later reuse
+	 */
+	public VertexBatch reset(int capacity, boolean color, boolean tex, boolean normal) {
+		this.color = color;
+		this.tex = tex;
+		this.normal = normal;
+		this.size = 0;
+		ensureCapacity(capacity);
+		return this;
+	}
+
+	public void ensureCapacity(int capacity) {
+		if (x.length < capacity) {
+			int c = Math.max(capacity, x.length + (x.length >> 1));
+			x = Arrays.copyOf(x, c);
+			y = Arrays.copyOf(y, c);
+			z = Arrays.copyOf(z, c);
+		}
+
+		if (color && r.length < capacity) {
+			int c = Math.max(capacity, r.length + (r.length >> 1));
+			r = Arrays.copyOf(r, c);
+			g = Arrays.copyOf(g, c);
+			b = Arrays.copyOf(b, c);
+			a = Arrays.copyOf(a, c);
+		}
+
+		if (tex && u.length < capacity) {
+			int c = Math.max(capacity, u.length + (u.length >> 1));
+			u = Arrays.copyOf(u, c);
+			v = Arrays.copyOf(v, c);
+		}
+
+		if (normal && nx.length < capacity) {
+			int c = Math.max(capacity, nx.length + (nx.length >> 1));
+			nx = Arrays.copyOf(nx, c);
+			ny = Arrays.copyOf(ny, c);
+			nz = Arrays.copyOf(nz, c);
+		}
+	}
+
+	public int add(float x, float y, float z) {
+		int i = size;
+		ensureCapacity(i + 1);
+		this.x[i] = x;
+		this.y[i] = y;
+		this.z[i] = z;
+		size = i + 1;
+		return i;
+	}
+
+	public void setColor(int i, float r, float g, float b, float a) {
+		this.r[i] = r;
+		this.g[i] = g;
+		this.b[i] = b;
+		this.a[i] = a;
+	}
+
+	public void setTex(int i, float u, float v) {
+		this.u[i] = u;
+		this.v[i] = v;
+	}
+
+	public void setNormal(int i, float nx, float ny, float nz) {
+		this.nx[i] = nx;
+		this.ny[i] = ny;
+		this.nz[i] = nz;
+	}
+
+	/**
+	 * Enables color and sets it to the same value for every vertex
+	 */
+	public void fillColor(float r, float g, float b, float a) {
+		color = true;
+		ensureCapacity(size);
+		Arrays.fill(this.r, 0, size, r);
+		Arrays.fill(this.g, 0, size, g);
+		Arrays.fill(this.b, 0, size, b);
+		Arrays.fill(this.a, 0, size, a);
+	}
+
+	/**
+	 * Copies this batch into <code>dst</code> with every position scaled by <code>s</code> and then offset
+	 */
+	public VertexBatch translateScale(float ox, float oy, float oz, float s, VertexBatch dst) {
+		int n = size;
+		dst.reset(n, color, tex, normal);
+
+		var dx = dst.x;
+		var dy = dst.y;
+		var dz = dst.z;
+
+		for (int i = 0; i < n; i++) {
+			dx[i] = ox + x[i] * s;
+			dy[i] = oy + y[i] * s;
+			dz[i] = oz + z[i] * s;
+		}
+
+		if (color) {
+			System.arraycopy(r, 0, dst.r, 0, n);
+			System.arraycopy(g, 0, dst.g, 0, n);
+			System.arraycopy(b, 0, dst.b, 0, n);
+			System.arraycopy(a, 0, dst.a, 0, n);
+		}
+
+		if (tex) {
+			System.arraycopy(u, 0, dst.u, 0, n);
+			System.arraycopy(v, 0, dst.v, 0, n);
+		}
+
+		if (normal) {
+			System.arraycopy(nx, 0, dst.nx, 0, n);
+			System.arraycopy(ny, 0, dst.ny, 0, n);
+			System.arraycopy(nz, 0, dst.nz, 0, n);
+		}
+
+		dst.size = n;
+		return dst;
+	}
+
+	/**
+	 * Copies vertices <code>from</code> to <code>to</code> into the start of <code>dst</code>, transforming positions and normals with {@link VertexTransformKernel#DEFAULT}.
+	 * <code>dst</code> may be this batch, e.g. when it's the {@link #scratch()} batch passed down from another transform
+	 */
+	public VertexBatch transform(int from, int to, @Nullable Matrix4fc posMatrix, @Nullable Matrix3fc normalMatrix, boolean normalize, VertexBatch dst) {
+		int n = to - from;
+		var kernel = VertexTransformKernel.DEFAULT;
+		dst.reset(n, color, tex, normal);
+
+		if (posMatrix != null) {
+			kernel.transformPositions(posMatrix, x, y, z, from, dst.x, dst.y, dst.z, 0, n);
+		} else {
+			System.arraycopy(x, from, dst.x, 0, n);
+			System.arraycopy(y, from, dst.y, 0, n);
+			System.arraycopy(z, from, dst.z, 0, n);
+		}
+
+		if (color) {
+			System.arraycopy(r, from, dst.r, 0, n);
+			System.arraycopy(g, from, dst.g, 0, n);
+			System.arraycopy(b, from, dst.b, 0, n);
+			System.arraycopy(a, from, dst.a, 0, n);
+		}
+
+		if (tex) {
+			System.arraycopy(u, from, dst.u, 0, n);
+			System.arraycopy(v, from, dst.v, 0, n);
+		}
+
+		if (normal) {
+			if (normalMatrix != null) {
+				kernel.transformNormals(normalMatrix, normalize, nx, ny, nz, from, dst.nx, dst.ny, dst.nz, 0, n);
+			} else {
+				System.arraycopy(nx, from, dst.nx, 0, n);
+				System.arraycopy(ny, from, dst.ny, 0, n);
+				System.arraycopy(nz, from, dst.nz, 0, n);
+
+				if (normalize) {
+					kernel.normalize(dst.nx, dst.ny, dst.nz, 0, n);
+				}
+			}
+		}
+
+		dst.size = n;
+		return dst;
+	}
+
+	public void emit(VertexCallback callback) {
+		if (size > 0) {
+			callback.acceptBatch(this, 0, size);
+		}
+	}
+}
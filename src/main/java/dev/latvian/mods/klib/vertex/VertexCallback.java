@@ -34,6 +34,27 @@ public interface VertexCallback {
 		return this;
 	}
 
+	/**
+	 * Accepts vertices <code>from</code> (inclusive) to <code>to</code> (exclusive) of the batch. Implementations that can write a whole run at once should override this
+	 */
+	default void acceptBatch(VertexBatch batch, int from, int to) {
+		for (int i = from; i < to; i++) {
+			var v = acceptPos(batch.x[i], batch.y[i], batch.z[i]);
+
+			if (batch.color) {
+				v = v.acceptCol(batch.r[i], batch.g[i], batch.b[i], batch.a[i]);
+			}
+
+			if (batch.tex) {
+				v = v.acceptTex(batch.u[i], batch.v[i]);
+			}
+
+			if (batch.normal) {
+				v.acceptNormal(batch.nx[i], batch.ny[i], batch.nz[i]);
+			}
+		}
+	}
+
 	default VertexCallback withColor(Color color) {
 		return new VertexCallbackWithColor(this, color.redf(), color.greenf(), color.bluef(), color.alphaf());
 	}
@@ -109,6 +130,13 @@ public interface VertexCallback {
 		return new OnlyPosColTexNormalVertexCallback(this);
 	}
 
+	/**
+	 * Collapses this decorator chain into a single callback, see {@link VertexPipeline}
+	 */
+	default VertexCallback fused() {
+		return VertexPipeline.of(this).build();
+	}
+
 	default void line(float x1, float y1, float z1, float x2, float y2, float z2, float nx, float ny, float nz) {
 		acceptPos(x1, y1, z1).acceptNormal(nx, ny, nz);
 		acceptPos(x2, y2, z2).acceptNormal(nx, ny, nz);
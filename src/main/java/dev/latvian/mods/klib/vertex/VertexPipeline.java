@@ -0,0 +1,219 @@
+package dev.latvian.mods.klib.vertex;
+
+import dev.latvian.mods.klib.color.Color;
+import dev.latvian.mods.klib.math.KMath;
+import dev.latvian.mods.klib.texture.PackedUV;
+import dev.latvian.mods.klib.texture.UV;
+import org.joml.Matrix3f;
+import org.joml.Matrix3fc;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+
+/**
+ * Collapses a stack of vertex decorators into a single {@link FusedVertexCallback} - one affine matrix multiply per position, one per normal, constant attributes baked in.
+ * Methods are called in the same order as their {@link VertexCallback} counterparts, each one wrapping everything added before it.
+ * Matrices are copied, so later changes to a pose don't affect an already built pipeline.
+ * A normalizing normal transform added on top of a non-normalizing one can't be folded into a single matrix, so everything added before it is built into its own fused callback first.
+ */
+public final class VertexPipeline {
+	public static final int TEX = 1;
+	public static final int COL = 2;
+	public static final int NORMAL = 4;
+	public static final int LIGHT = 8;
+	public static final int OVERLAY = 16;
+	public static final int ALL = TEX | COL | NORMAL | LIGHT | OVERLAY;
+
+	public static VertexPipeline of(VertexCallback callback) {
+		return switch (callback) {
+			case FusedVertexCallback c -> c.pipeline();
+			case TransformedVertexCallback c -> of(c.delegate()).transform(c.posMatrix(), c.normalMatrix(), c.normalize());
+			case TransformedPositionsVertexCallback c -> of(c.delegate()).transformPositions(c.matrix());
+			case TransformedNormalsVertexCallback c -> of(c.delegate()).transformNormals(c.matrix(), c.normalize());
+			case VertexCallbackWithColor c -> of(c.delegate()).color(c.r(), c.g(), c.b(), c.a());
+			case VertexCallbackWithTexture c -> of(c.delegate()).tex(c.tex());
+			case VertexCallbackWithLight c -> of(c.delegate()).light(c.u(), c.v());
+			case VertexCallbackWithOverlay c -> of(c.delegate()).overlay(c.u(), c.v());
+			case OnlyPosVertexCallback c -> of(c.delegate()).only(0);
+			case OnlyPosColVertexCallback c -> of(c.delegate()).only(COL);
+			case OnlyPosTexVertexCallback c -> of(c.delegate()).only(TEX);
+			case OnlyPosColTexVertexCallback c -> of(c.delegate()).only(COL | TEX);
+			case OnlyPosColNormalVertexCallback c -> of(c.delegate()).only(COL | NORMAL);
+			case OnlyPosColTexNormalVertexCallback c -> of(c.delegate()).only(COL | TEX | NORMAL);
+			default -> new VertexPipeline(callback);
+		};
+	}
+
+	VertexCallback target;
+	int passed;
+	boolean transformPositions;
+	final Matrix4f posMatrix;
+	boolean transformNormals;
+	boolean normalize;
+	final Matrix3f normalMatrix;
+	boolean mapTex;
+	float texScaleU, texOffsetU, texScaleV, texOffsetV;
+	boolean hasColor;
+	float r, g, b, a;
+	boolean hasLight;
+	int lightU, lightV;
+	boolean hasOverlay;
+	int overlayU, overlayV;
+
+	public VertexPipeline(VertexCallback target) {
+		this.target = target;
+		this.passed = ALL;
+		this.posMatrix = new Matrix4f();
+		this.normalMatrix = new Matrix3f();
+		this.texScaleU = 1F;
+		this.texScaleV = 1F;
+	}
+
+	public VertexPipeline copy() {
+		var p = new VertexPipeline(target);
+		p.passed = passed;
+		p.transformPositions = transformPositions;
+		p.posMatrix.set(posMatrix);
+		p.transformNormals = transformNormals;
+		p.normalize = normalize;
+		p.normalMatrix.set(normalMatrix);
+		p.mapTex = mapTex;
+		p.texScaleU = texScaleU;
+		p.texOffsetU = texOffsetU;
+		p.texScaleV = texScaleV;
+		p.texOffsetV = texOffsetV;
+		p.hasColor = hasColor;
+		p.r = r;
+		p.g = g;
+		p.b = b;
+		p.a = a;
+		p.hasLight = hasLight;
+		p.lightU = lightU;
+		p.lightV = lightV;
+		p.hasOverlay = hasOverlay;
+		p.overlayU = overlayU;
+		p.overlayV = overlayV;
+		return p;
+	}
+
+	public VertexPipeline transformPositions(Matrix4fc matrix) {
+		if (!KMath.isIdentity(matrix)) {
+			// Input goes through the new matrix first, then everything that was already added
+			posMatrix.mulAffine(matrix);
+			transformPositions = true;
+		}
+
+		return this;
+	}
+
+	public VertexPipeline transformNormals(Matrix3fc matrix, boolean normalize) {
+		// The existing matrix would scale an already normalized normal, normalizing once at the end only gives the same result when the existing step normalizes too
+		if (normalize && !this.normalize && transformNormals) {
+			split();
+		}
+
+		if (!KMath.isIdentity(matrix)) {
+			normalMatrix.mul(matrix);
+			transformNormals = true;
+		}
+
+		this.normalize |= normalize;
+		return this;
+	}
+
+	public VertexPipeline transform(Matrix4fc posMatrix, Matrix3fc normalMatrix, boolean normalize) {
+		// Normals first, so if they split the pipeline both matrices end up in the same new stage
+		return transformNormals(normalMatrix, normalize).transformPositions(posMatrix);
+	}
+
+	/**
+	 * Outermost color wins, same as a chain of {@link VertexCallbackWithColor}
+	 */
+	public VertexPipeline color(float r, float g, float b, float a) {
+		hasColor = true;
+		passed &= ~COL;
+		this.r = r;
+		this.g = g;
+		this.b = b;
+		this.a = a;
+		return this;
+	}
+
+	public VertexPipeline color(Color color) {
+		return color(color.redf(), color.greenf(), color.bluef(), color.alphaf());
+	}
+
+	public VertexPipeline tex(UV tex) {
+		if (!tex.isFull()) {
+			float su = tex.u1() - tex.u0();
+			float sv = tex.v1() - tex.v0();
+			texOffsetU += texScaleU * tex.u0();
+			texOffsetV += texScaleV * tex.v0();
+			texScaleU *= su;
+			texScaleV *= sv;
+			mapTex = true;
+		}
+
+		return this;
+	}
+
+	public VertexPipeline light(int u, int v) {
+		hasLight = true;
+		passed &= ~LIGHT;
+		lightU = u;
+		lightV = v;
+		return this;
+	}
+
+	public VertexPipeline light(PackedUV light) {
+		return light(light.u(), light.v());
+	}
+
+	public VertexPipeline overlay(int u, int v) {
+		hasOverlay = true;
+		passed &= ~OVERLAY;
+		overlayU = u;
+		overlayV = v;
+		return this;
+	}
+
+	public VertexPipeline overlay(PackedUV overlay) {
+		return overlay(overlay.u(), overlay.v());
+	}
+
+	/**
+	 * Drops every caller supplied attribute that isn't in the mask. Constant attributes are still emitted, as they are with the onlyPos* callbacks
+	 */
+	public VertexPipeline only(int attributes) {
+		passed &= attributes;
+		return this;
+	}
+
+	/**
+	 * Turns everything added so far into the target and starts over with an empty pipeline in front of it
+	 */
+	private void split() {
+		target = build();
+		passed = ALL;
+		transformPositions = false;
+		posMatrix.identity();
+		transformNormals = false;
+		normalize = false;
+		normalMatrix.identity();
+		mapTex = false;
+		texScaleU = 1F;
+		texOffsetU = 0F;
+		texScaleV = 1F;
+		texOffsetV = 0F;
+		hasColor = false;
+		hasLight = false;
+		hasOverlay = false;
+	}
+
+	public boolean isPassthrough() {
+		return passed == ALL && !transformPositions && !transformNormals && !normalize && !mapTex && !hasColor && !hasLight && !hasOverlay;
+	}
+
+	public VertexCallback build() {
+		return isPassthrough() ? target : new FusedVertexCallback(copy());
+	}
+}
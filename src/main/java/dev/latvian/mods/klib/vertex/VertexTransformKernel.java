@@ -0,0 +1,39 @@
+package dev.latvian.mods.klib.vertex;
+
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix3fc;
+import org.joml.Matrix4fc;
+
+/**
+ * Transforms runs of structure-of-arrays positions and normals. Source and destination may be the same arrays, as long as the destination offset isn't past the source offset.
+ * {@link #DEFAULT} uses the Vector API implementation when the JVM was started with <code>--add-modules=jdk.incubator.vector</code>, and the scalar one otherwise.
+ * Set <code>-Dklib.disable_vector_kernels=true</code> to always use the scalar kernel
+ */
+public interface VertexTransformKernel {
+	VertexTransformKernel SCALAR = new ScalarVertexTransformKernel();
+
+	@Nullable
+	VertexTransformKernel VECTOR = ScalarVertexTransformKernel.loadVector();
+
+	VertexTransformKernel DEFAULT = VECTOR == null || Boolean.getBoolean("klib.disable_vector_kernels") ? SCALAR : VECTOR;
+
+	/**
+	 * Same as {@link org.joml.Vector3f#mulPosition(Matrix4fc)} - only the affine part of the matrix is used
+	 */
+	void transformPositions(Matrix4fc matrix, float[] x, float[] y, float[] z, int srcOffset, float[] ox, float[] oy, float[] oz, int dstOffset, int count);
+
+	void transformNormals(Matrix3fc matrix, boolean normalize, float[] x, float[] y, float[] z, int srcOffset, float[] ox, float[] oy, float[] oz, int dstOffset, int count);
+
+	default void normalize(float[] x, float[] y, float[] z, int offset, int count) {
+		for (int i = offset; i < offset + count; i++) {
+			float lenSq = x[i] * x[i] + y[i] * y[i] + z[i] * z[i];
+
+			if (lenSq > 0F) {
+				float inv = 1F / (float) Math.sqrt(lenSq);
+				x[i] *= inv;
+				y[i] *= inv;
+				z[i] *= inv;
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package dev.latvian.mods.klib.vertex;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.joml.Matrix3fc;
+import org.joml.Matrix4fc;
+
+/**
+ * {@link VertexTransformKernel} that processes {@link FloatVector#SPECIES_PREFERRED} lanes at a time. Operations are done in the same order as in {@link ScalarVertexTransformKernel}, so results are bit-identical
+ */
+public final class VectorVertexTransformKernel implements VertexTransformKernel {
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+	private static final FloatVector ONE = FloatVector.broadcast(SPECIES, 1F);
+
+	@Override
+	public void transformPositions(Matrix4fc matrix, float[] x, float[] y, float[] z, int srcOffset, float[] ox, float[] oy, float[] oz, int dstOffset, int count) {
+		float m00 = matrix.m00(), m01 = matrix.m01(), m02 = matrix.m02();
+		float m10 = matrix.m10(), m11 = matrix.m11(), m12 = matrix.m12();
+		float m20 = matrix.m20(), m21 = matrix.m21(), m22 = matrix.m22();
+		float m30 = matrix.m30(), m31 = matrix.m31(), m32 = matrix.m32();
+
+		int i = 0;
+		int bound = SPECIES.loopBound(count);
+
+		for (; i < bound; i += SPECIES.length()) {
+			var px = FloatVector.fromArray(SPECIES, x, srcOffset + i);
+			var py = FloatVector.fromArray(SPECIES, y, srcOffset + i);
+			var pz = FloatVector.fromArray(SPECIES, z, srcOffset + i);
+			var rx = px.mul(m00).add(py.mul(m10)).add(pz.mul(m20)).add(m30);
+			var ry = px.mul(m01).add(py.mul(m11)).add(pz.mul(m21)).add(m31);
+			var rz = px.mul(m02).add(py.mul(m12)).add(pz.mul(m22)).add(m32);
+			rx.intoArray(ox, dstOffset + i);
+			ry.intoArray(oy, dstOffset + i);
+			rz.intoArray(oz, dstOffset + i);
+		}
+
+		if (i < count) {
+			SCALAR.transformPositions(matrix, x, y, z, srcOffset + i, ox, oy, oz, dstOffset + i, count - i);
+		}
+	}
+
+	@Override
+	public void transformNormals(Matrix3fc matrix, boolean normalize, float[] x, float[] y, float[] z, int srcOffset, float[] ox, float[] oy, float[] oz, int dstOffset, int count) {
+		float m00 = matrix.m00(), m01 = matrix.m01(), m02 = matrix.m02();
+		float m10 = matrix.m10(), m11 = matrix.m11(), m12 = matrix.m12();
+		float m20 = matrix.m20(), m21 = matrix.m21(), m22 = matrix.m22();
+
+		int i = 0;
+		int bound = SPECIES.loopBound(count);
+
+		for (; i < bound; i += SPECIES.length()) {
+			var nx = FloatVector.fromArray(SPECIES, x, srcOffset + i);
+			var ny = FloatVector.fromArray(SPECIES, y, srcOffset + i);
+			var nz = FloatVector.fromArray(SPECIES, z, srcOffset + i);
+			var rx = nx.mul(m00).add(ny.mul(m10)).add(nz.mul(m20));
+			var ry = nx.mul(m01).add(ny.mul(m11)).add(nz.mul(m21));
+			var rz = nx.mul(m02).add(ny.mul(m12)).add(nz.mul(m22));
+
+			if (normalize) {
+				var lenSq = rx.mul(rx).add(ry.mul(ry)).add(rz.mul(rz));
+				// Zero length normals are left as they are, same as the scalar path
+				var inv = ONE.div(lenSq.sqrt()).blend(1F, lenSq.compare(VectorOperators.GT, 0F).not());
+				rx = rx.mul(inv);
+				ry = ry.mul(inv);
+				rz = rz.mul(inv);
+			}
+
+			rx.intoArray(ox, dstOffset + i);
+			ry.intoArray(oy, dstOffset + i);
+			rz.intoArray(oz, dstOffset + i);
+		}
+
+		if (i < count) {
+			SCALAR.transformNormals(matrix, normalize, x, y, z, srcOffset + i, ox, oy, oz, dstOffset + i, count - i);
+		}
+	}
+}